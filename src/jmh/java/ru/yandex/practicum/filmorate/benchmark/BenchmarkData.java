@@ -0,0 +1,28 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.time.LocalDate;
+
+final class BenchmarkData {
+    private static final LocalDate FIRST_RELEASE = LocalDate.of(1950, 1, 1);
+    private static final LocalDate FIRST_BIRTHDAY = LocalDate.of(1960, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    static Film createFilm(long number) {
+        return new Film("Film " + number,
+                "Description of film number " + number + " with a plot that fits in two hundred chars",
+                FIRST_RELEASE.plusDays(number % 25_000),
+                60 + (int) (number % 120));
+    }
+
+    static User createUser(long number) {
+        return new User("user" + number + "@filmorate.ru",
+                "login" + number,
+                "User " + number,
+                FIRST_BIRTHDAY.plusDays(number % 20_000));
+    }
+}
@@ -0,0 +1,80 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.columnar.ColumnarFilmRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.mapped.MappedFileRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained per film by each storage engine, printed once per trial as "bytes/record"
+ * (the mapped engine keeps records and index outside the heap),
+ * together with the price of materializing a record on every read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FootprintBenchmark {
+    @Param({"memory", "columnar", "mapped"})
+    private String engine;
+
+    @Param({"1000000"})
+    private int size;
+
+    private InMemoryRepository<Film> filmRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeap();
+        filmRepository = createRepository();
+        for (int i = 0; i < size; i++) {
+            filmRepository.save(BenchmarkData.createFilm(i));
+        }
+        long after = usedHeap();
+
+        System.out.printf("%n%s: %.1f bytes/record%n", engine, (double) (after - before) / size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (filmRepository instanceof Closeable) {
+            ((Closeable) filmRepository).close();
+        }
+    }
+
+    private InMemoryRepository<Film> createRepository() {
+        switch (engine) {
+            case "columnar":
+                return new ColumnarFilmRepository();
+            case "mapped":
+                return new MappedFileRepository<>(Path.of(System.getProperty("java.io.tmpdir"), "filmorate"), "films",
+                        64 * 1024 * 1024, new ObjectMapper().findAndRegisterModules(), Film.class);
+            default:
+                return new InMemoryBaseRepository<>();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public Film getById() {
+        return filmRepository.getById(ThreadLocalRandom.current().nextLong(1, size + 1));
+    }
+}
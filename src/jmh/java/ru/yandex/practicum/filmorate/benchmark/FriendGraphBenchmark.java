@@ -0,0 +1,105 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryFriendRepository;
+
+import java.lang.ref.Reference;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares common-friends on sorted long[] adjacency lists with the boxed Set&lt;Long&gt;
+ * intersection. Run with {@code -prof gc} to see allocation per operation; the retained
+ * heap per edge is printed by {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FriendGraphBenchmark {
+    @Param({"1000", "10000"})
+    private int friends;
+
+    private InMemoryFriendRepository friendRepository;
+    private Set<Long> boxedFriends;
+    private Set<Long> boxedOtherFriends;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        friendRepository = new InMemoryFriendRepository();
+        boxedFriends = new HashSet<>();
+        boxedOtherFriends = new HashSet<>();
+
+        for (long friendId = 10; friendId < 10 + friends * 2L; friendId++) {
+            if (friendId % 2 == 0) {
+                friendRepository.addFriend(1, friendId);
+                boxedFriends.add(friendId);
+            }
+            if (friendId % 3 == 0) {
+                friendRepository.addFriend(2, friendId);
+                boxedOtherFriends.add(friendId);
+            }
+        }
+    }
+
+    @Benchmark
+    public long[] commonFriendsSortedArrays() {
+        return friendRepository.getCommonFriendIds(1, 2);
+    }
+
+    @Benchmark
+    public Set<Long> commonFriendsBoxedSets() {
+        Set<Long> common = new HashSet<>(boxedFriends);
+        common.retainAll(boxedOtherFriends);
+        return common;
+    }
+
+    public static void main(String[] args) {
+        int users = 1_000;
+        int friendsPerUser = 1_000;
+
+        long before = usedHeap();
+        InMemoryFriendRepository friendRepository = new InMemoryFriendRepository();
+        for (long userId = 0; userId < users; userId++) {
+            for (long friendId = users; friendId < users + friendsPerUser; friendId++) {
+                friendRepository.addFriend(userId, friendId);
+            }
+        }
+        long sortedArrays = usedHeap() - before;
+
+        before = usedHeap();
+        Set<?>[] boxed = new Set<?>[users + friendsPerUser];
+        for (int userId = 0; userId < users; userId++) {
+            for (long friendId = users; friendId < users + friendsPerUser; friendId++) {
+                addBoxed(boxed, userId, friendId);
+                addBoxed(boxed, (int) friendId, userId);
+            }
+        }
+        long boxedSets = usedHeap() - before;
+
+        long edges = 2L * users * friendsPerUser;
+        System.out.printf("sorted long[]: %.1f bytes/edge%n", (double) sortedArrays / edges);
+        System.out.printf("Set<Long>:     %.1f bytes/edge%n", (double) boxedSets / edges);
+        Reference.reachabilityFence(friendRepository);
+        Reference.reachabilityFence(boxed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addBoxed(Set<?>[] boxed, int userId, long friendId) {
+        if (boxed[userId] == null) {
+            boxed[userId] = new HashSet<Long>();
+        }
+        ((Set<Long>) boxed[userId]).add(friendId);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.journal.JournaledRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.journal.WriteAheadLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Write throughput of the journaled repository with and without fsync (run with several
+ * {@code -t} values to see group commit at work) and restart time for a snapshot plus log tail.
+ */
+public class JournalBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new ParameterNamesModule());
+
+    private static JournaledRepository<Film> open(Path directory, boolean fsync) {
+        return new JournaledRepository<>(new InMemoryBaseRepository<>(), new WriteAheadLog(directory, "films", fsync),
+                OBJECT_MAPPER, Film.class, Long.MAX_VALUE);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+        @Param({"true", "false"})
+        private boolean fsync;
+
+        private Path directory;
+        private JournaledRepository<Film> repository;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("journal-append");
+            repository = open(directory, fsync);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            repository.close();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+        @Param({"1000000", "10000000"})
+        private int size;
+
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("journal-recovery");
+            JournaledRepository<Film> repository = open(directory, false);
+            for (int i = 0; i < size; i++) {
+                repository.save(BenchmarkData.createFilm(i));
+                if (i == size * 9 / 10) {
+                    repository.snapshot();
+                }
+            }
+            repository.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public Film save(AppendState state) {
+        return state.repository.save(BenchmarkData.createFilm(1));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+    public int restart(RecoveryState state) throws IOException {
+        JournaledRepository<Film> repository = open(state.directory, false);
+        int size = repository.getAll().size();
+        repository.close();
+        return size;
+    }
+}
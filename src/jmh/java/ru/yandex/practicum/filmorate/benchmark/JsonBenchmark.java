@@ -0,0 +1,68 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+    private ObjectWriter filmWriter;
+    private ObjectReader filmReader;
+    private ObjectWriter userWriter;
+    private ObjectReader userReader;
+    private Film film;
+    private User user;
+    private byte[] filmJson;
+    private byte[] userJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new ParameterNamesModule())
+                .build();
+        filmWriter = objectMapper.writerFor(Film.class);
+        filmReader = objectMapper.readerFor(Film.class);
+        userWriter = objectMapper.writerFor(User.class);
+        userReader = objectMapper.readerFor(User.class);
+
+        film = BenchmarkData.createFilm(42);
+        film.setId(42L);
+        user = BenchmarkData.createUser(42);
+        user.setId(42L);
+        filmJson = filmWriter.writeValueAsBytes(film);
+        userJson = userWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeFilm() throws IOException {
+        return filmWriter.writeValueAsBytes(film);
+    }
+
+    @Benchmark
+    public Film deserializeFilm() throws IOException {
+        return filmReader.readValue(filmJson);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws IOException {
+        return userWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public User deserializeUser() throws IOException {
+        return userReader.readValue(userJson);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.model.customJsonFormat.LocalDateDeserializer;
+import ru.yandex.practicum.filmorate.model.customJsonFormat.LocalDateSerialize;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-rolled codec with the previous formatter-based implementation,
+ * kept here as {@link FormatterSerializer} and {@link ReadValueAsDeserializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalDateCodecBenchmark {
+    @Param({"formatter", "handRolled"})
+    private String codec;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private LocalDate date;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SimpleModule module = new SimpleModule();
+        if ("formatter".equals(codec)) {
+            module.addSerializer(LocalDate.class, new FormatterSerializer());
+            module.addDeserializer(LocalDate.class, new ReadValueAsDeserializer());
+        } else {
+            module.addSerializer(LocalDate.class, new LocalDateSerialize());
+            module.addDeserializer(LocalDate.class, new LocalDateDeserializer());
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(module);
+        writer = objectMapper.writerFor(LocalDate.class);
+        reader = objectMapper.readerFor(LocalDate.class);
+        date = LocalDate.of(2011, 11, 11);
+        json = writer.writeValueAsBytes(date);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(date);
+    }
+
+    @Benchmark
+    public LocalDate deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    public static class FormatterSerializer extends StdSerializer<LocalDate> {
+        public FormatterSerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate localDate, JsonGenerator jsonGenerator, SerializerProvider sp)
+                throws IOException {
+            jsonGenerator.writeString(localDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
+        }
+    }
+
+    public static class ReadValueAsDeserializer extends StdDeserializer<LocalDate> {
+        public ReadValueAsDeserializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public LocalDate deserialize(JsonParser jsonParser, DeserializationContext context) throws IOException {
+            return LocalDate.parse(jsonParser.readValueAs(String.class));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request logging under contention: the old synchronous appender fed with the whole entity
+ * against the async, drop-on-overflow appender fed with compact fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+    private static final String PATTERN = "%d{HH:mm:ss.SSS} %5p [%t] %logger{20} - %m%n";
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    private LoggerContext context;
+    private Logger log;
+    private Film film;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+
+        Appender<ILoggingEvent> root = output;
+        if (appender.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(output);
+            async.start();
+            root = async;
+        }
+
+        log = context.getLogger(LoggingBenchmark.class);
+        log.setAdditive(false);
+        log.addAppender(root);
+        film = BenchmarkData.createFilm(42);
+        film.setId(42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void logRequest() {
+        if (appender.equals("sync")) {
+            log.info("Request addFilm: {}", film);
+        } else {
+            log.info("Request addFilm name={} releaseDate={}", film.getName(), film.getReleaseDate());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.MeteredRepository;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the repository timers: the same operations on the bare storage and on the metered
+ * decorator backed by the Prometheus registry used in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+    private static final int SIZE = 100_000;
+
+    @Param({"plain", "metered"})
+    private String repository;
+
+    private InMemoryRepository<Film> filmRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filmRepository = new InMemoryBaseRepository<>();
+        if (repository.equals("metered")) {
+            filmRepository = new MeteredRepository<>(filmRepository, "films",
+                    new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            filmRepository.save(BenchmarkData.createFilm(i));
+        }
+    }
+
+    @Benchmark
+    public Film getById() {
+        return filmRepository.getById(ThreadLocalRandom.current().nextLong(1, SIZE + 1));
+    }
+
+    @Benchmark
+    public Film update() {
+        long id = ThreadLocalRandom.current().nextLong(1, SIZE + 1);
+        Film film = BenchmarkData.createFilm(id - 1);
+        film.setId(id);
+        return filmRepository.update(film, null);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryLikeRepository;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recommendation latency for one heavy user (10k likes) against a store of {@code users}
+ * users with a handful of likes each over a 100k film catalogue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RecommendationBenchmark {
+    private static final int FILMS = 100_000;
+    private static final int HEAVY_USER_LIKES = 10_000;
+    private static final long HEAVY_USER = 0;
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"5"})
+    private int likesPerUser;
+
+    private InMemoryLikeRepository likeRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        likeRepository = new InMemoryLikeRepository();
+
+        for (int i = 0; i < HEAVY_USER_LIKES; i++) {
+            likeRepository.addLike(1 + random.nextInt(FILMS), HEAVY_USER);
+        }
+        for (long userId = 1; userId < users; userId++) {
+            for (int i = 0; i < likesPerUser; i++) {
+                likeRepository.addLike(1 + random.nextInt(FILMS), userId);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Long> recommend() {
+        return likeRepository.getRecommendedFilmIds(HEAVY_USER, 10);
+    }
+}
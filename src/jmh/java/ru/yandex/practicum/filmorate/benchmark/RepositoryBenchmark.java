@@ -0,0 +1,66 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class RepositoryBenchmark {
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private InMemoryBaseRepository<Film> repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryBaseRepository<>();
+        for (int i = 0; i < size; i++) {
+            repository.save(BenchmarkData.createFilm(i));
+        }
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1);
+    }
+
+    @Benchmark
+    public Film getById() {
+        return repository.getById(randomId());
+    }
+
+    @Benchmark
+    public Film saveExisting() {
+        Film film = BenchmarkData.createFilm(0);
+        film.setId(randomId());
+        return repository.save(film);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Film> getPage() {
+        return repository.getPageAfter(randomId(), 100);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Film> getAll() {
+        return repository.getAll();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void getByIdAndSaveContended(Blackhole blackhole) {
+        blackhole.consume(repository.getById(randomId()));
+        blackhole.consume(saveExisting());
+    }
+}
@@ -0,0 +1,72 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.IndexedFilmRepository;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Film search through the inverted index against a scan of every film. Sample time mode reports
+ * percentiles; the catalogue from the search requirements is {@code -p size=5000000}, which needs
+ * a larger heap ({@code -jvmArgsAppend -Xmx8g}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"selective", "common"})
+    private String query;
+
+    private IndexedFilmRepository filmRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filmRepository = new IndexedFilmRepository(new InMemoryBaseRepository<>());
+        for (int i = 0; i < size; i++) {
+            filmRepository.save(BenchmarkData.createFilm(i));
+        }
+    }
+
+    private String nextQuery() {
+        if (query.equals("common")) {
+            return "plot";
+        }
+        return "film " + ThreadLocalRandom.current().nextInt(size);
+    }
+
+    @Benchmark
+    public List<Film> indexSearch() {
+        return filmRepository.search(nextQuery(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Film> scanSearch() {
+        String[] tokens = nextQuery().split(" ");
+        return filmRepository.getAll().stream()
+                .filter(film -> {
+                    String text = (film.getName() + " " + film.getDescription()).toLowerCase(Locale.ROOT);
+                    for (String token : tokens) {
+                        if (!text.contains(token)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .limit(LIMIT)
+                .collect(Collectors.toList());
+    }
+}
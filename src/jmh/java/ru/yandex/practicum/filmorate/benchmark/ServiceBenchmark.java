@@ -0,0 +1,71 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.IndexedFilmRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.IndexedUserRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryFriendRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryLikeRepository;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private FilmService filmService;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        IndexedUserRepository userRepository = new IndexedUserRepository(new InMemoryBaseRepository<>());
+        filmService = new FilmService(new IndexedFilmRepository(new InMemoryBaseRepository<>()), userRepository, new InMemoryLikeRepository());
+        userService = new UserService(userRepository, new InMemoryFriendRepository());
+        for (int i = 0; i < size; i++) {
+            filmService.addFilm(BenchmarkData.createFilm(i));
+            userService.addUser(BenchmarkData.createUser(i));
+        }
+    }
+
+    @Benchmark
+    public Film updateFilm() {
+        long id = ThreadLocalRandom.current().nextLong(1, size + 1);
+        Film film = BenchmarkData.createFilm(id - 1);
+        film.setId(id);
+        return filmService.updateFilm(film, null);
+    }
+
+    @Benchmark
+    public User updateUser() {
+        long id = ThreadLocalRandom.current().nextLong(1, size + 1);
+        User user = BenchmarkData.createUser(id - 1);
+        user.setId(id);
+        return userService.updateUser(user, null);
+    }
+
+    @Benchmark
+    public User getUserByLogin() {
+        long number = ThreadLocalRandom.current().nextLong(size);
+        return userService.getUserByLogin("login" + number);
+    }
+
+    @Benchmark
+    public User scanUserByLogin() {
+        String login = "login" + ThreadLocalRandom.current().nextLong(size);
+        return userService.getAllUsers().stream()
+                .filter(user -> user.getLogin().equals(login))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.model.validation.FilmValidator;
+import ru.yandex.practicum.filmorate.model.validation.UserValidator;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating one request body the way the binder does it, with the annotation-driven
+ * Bean Validation path and with the precompiled validators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+    @Param({"standard", "precompiled"})
+    private String mode;
+
+    private ValidatorFactory validatorFactory;
+    private Validator filmValidator;
+    private Validator userValidator;
+    private Film film;
+    private User user;
+    private User invalidUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        javax.validation.Validator validator = validatorFactory.getValidator();
+        boolean precompiled = "precompiled".equals(mode);
+        filmValidator = precompiled ? new FilmValidator(validator) : new SpringValidatorAdapter(validator);
+        userValidator = precompiled ? new UserValidator(validator) : new SpringValidatorAdapter(validator);
+
+        film = BenchmarkData.createFilm(42);
+        user = BenchmarkData.createUser(42);
+        invalidUser = BenchmarkData.createUser(42);
+        invalidUser.setLogin("with space");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    private static BindingResult validate(Validator validator, Object target, String objectName) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, objectName);
+        validator.validate(target, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult validFilm() {
+        return validate(filmValidator, film, "film");
+    }
+
+    @Benchmark
+    public BindingResult validUser() {
+        return validate(userValidator, user, "user");
+    }
+
+    @Benchmark
+    public BindingResult invalidUser() {
+        return validate(userValidator, invalidUser, "user");
+    }
+}
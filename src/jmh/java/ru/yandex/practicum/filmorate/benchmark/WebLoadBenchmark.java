@@ -0,0 +1,78 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.yandex.practicum.filmorate.FilmorateApplication;
+import ru.yandex.practicum.filmorate.repository.FilmRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a burst of concurrent connections against the running application in each
+ * execution mode: every invocation opens {@code connections} requests at once and waits for all.
+ * The virtual mode needs a JDK 21+ runtime, e.g. {@code -Djmh.args="WebLoadBenchmark -p mode=virtual"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WebLoadBenchmark {
+    private static final int FILMS = 10_000;
+
+    @Param({"platform"})
+    private String mode;
+
+    @Param({"1000", "10000"})
+    private int connections;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FilmorateApplication.class)
+                .properties("server.port=0",
+                        "filmorate.web.execution-mode=" + mode,
+                        "server.tomcat.max-connections=" + (connections + 1024),
+                        "server.tomcat.accept-count=" + connections,
+                        "filmorate.rate-limit.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        FilmRepository filmRepository = context.getBean(FilmRepository.class);
+        for (int i = 0; i < FILMS; i++) {
+            filmRepository.save(BenchmarkData.createFilm(i));
+        }
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/films/";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create(baseUri + ThreadLocalRandom.current().nextInt(1, FILMS + 1))).build();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize/parse cost of a page of films in each wire format the API negotiates. The encoded
+ * page size is printed once per trial next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectWriter pageWriter;
+    private ObjectReader pageReader;
+    private List<Film> page;
+    private byte[] encodedPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new ParameterNamesModule());
+        if ("cbor".equals(format)) {
+            builder.factory(new CBORFactory());
+        }
+        ObjectMapper objectMapper = builder.build();
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Film.class));
+        pageReader = objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Film.class));
+
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Film film = BenchmarkData.createFilm(i);
+            film.setId((long) i + 1);
+            page.add(film);
+        }
+        encodedPage = pageWriter.writeValueAsBytes(page);
+        System.out.printf("%n%s page of %d films: %d bytes%n", format, PAGE_SIZE, encodedPage.length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<Film> parsePage() throws IOException {
+        return pageReader.readValue(encodedPage);
+    }
+}
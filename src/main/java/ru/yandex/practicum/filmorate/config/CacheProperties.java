@@ -0,0 +1,12 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "filmorate.cache")
+public class CacheProperties {
+    private boolean enabled = true;
+
+    private long maxBytes = 64L * 1024 * 1024;
+}
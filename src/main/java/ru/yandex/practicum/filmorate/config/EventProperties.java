@@ -0,0 +1,16 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "filmorate.events")
+public class EventProperties {
+    private int capacity = 65536;
+
+    private Duration pollTimeout = Duration.ofSeconds(30);
+
+    private Duration streamTimeout = Duration.ofMinutes(30);
+}
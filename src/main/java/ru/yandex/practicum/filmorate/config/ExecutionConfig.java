@@ -0,0 +1,55 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Picks the threads that run request handling, selected by {@code filmorate.web.execution-mode}.
+ * In virtual mode both Tomcat workers and MVC async tasks (NDJSON streams) get a virtual thread
+ * per task; controllers, validation and repositories stay the same blocking code.
+ */
+@Configuration
+@EnableConfigurationProperties(ExecutionProperties.class)
+@Slf4j
+public class ExecutionConfig implements WebMvcConfigurer {
+    private final ExecutorService virtualExecutor;
+
+    public ExecutionConfig(ExecutionProperties executionProperties) {
+        log.info("Web execution mode: {}", executionProperties.getExecutionMode());
+        this.virtualExecutor = executionProperties.getExecutionMode() == ExecutionMode.VIRTUAL
+                ? VirtualThreads.newThreadPerTaskExecutor()
+                : null;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> executionModeCustomizer() {
+        return protocolHandler -> {
+            if (virtualExecutor != null) {
+                protocolHandler.setExecutor(virtualExecutor);
+            }
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        if (virtualExecutor != null) {
+            configurer.setTaskExecutor(new TaskExecutorAdapter(virtualExecutor));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (virtualExecutor != null) {
+            virtualExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ru.yandex.practicum.filmorate.config;
+
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL
+}
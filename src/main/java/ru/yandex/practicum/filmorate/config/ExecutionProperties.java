@@ -0,0 +1,10 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "filmorate.web")
+public class ExecutionProperties {
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+}
@@ -0,0 +1,15 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "filmorate.logging")
+public class LoggingProperties {
+    private double defaultSampleRate = 1.0;
+
+    private Map<String, Double> sampleRates = new HashMap<>();
+}
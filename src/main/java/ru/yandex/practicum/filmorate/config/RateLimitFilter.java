@@ -0,0 +1,207 @@
+package ru.yandex.practicum.filmorate.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for the film and user endpoints. Requests beyond {@code maxInFlight} are shed
+ * with 503 before any per-client work; the rest take a token from the client's read (GET/HEAD) or
+ * write budget and get 429 when it is empty. Clients are keyed by remote address; {@code clientHeader}
+ * is honoured only from {@code trustedAddresses}, such as an internal gateway, because anyone else
+ * could mint a fresh id per request. A known client costs a map lookup and a CAS; buckets that have
+ * refilled are swept once {@code maxClients} is reached, and clients beyond that share one budget.
+ * A request that goes async (NDJSON, SSE) stays in flight until its async context completes.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String COUNTER_NAME = "filmorate.rate.limit.rejected";
+    private static final byte[] LIMITED_BODY = "{\"error\":\"Rate limit exceeded\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SHED_BODY = "{\"error\":\"Server is overloaded\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimitProperties properties;
+    private final ConcurrentHashMap<String, ClientBudget> clients;
+    private final ClientBudget overflow;
+    private final AtomicInteger inFlight;
+    private final AtomicBoolean sweeping;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+    private final Counter shed;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clients = new ConcurrentHashMap<>();
+        this.overflow = new ClientBudget(properties, System.nanoTime());
+        this.inFlight = new AtomicInteger();
+        this.sweeping = new AtomicBoolean();
+        this.readRejected = rejectedCounter(meterRegistry, "read");
+        this.writeRejected = rejectedCounter(meterRegistry, "write");
+        this.shed = rejectedCounter(meterRegistry, "shed");
+        Gauge.builder("filmorate.rate.limit.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted to the film and user endpoints")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(COUNTER_NAME)
+                .description("Requests rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (inFlight.incrementAndGet() > properties.getMaxInFlight()) {
+            inFlight.decrementAndGet();
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, SHED_BODY);
+            return;
+        }
+
+        boolean async = false;
+        try {
+            long now = System.nanoTime();
+            boolean read = isRead(request.getMethod());
+            ClientBudget budget = budgetFor(clientKey(request), now);
+            long waitNanos = (read ? budget.read : budget.write).tryAcquire(now);
+            if (waitNanos > 0) {
+                (read ? readRejected : writeRejected).increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos), LIMITED_BODY);
+                return;
+            }
+
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new InFlightRelease());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!properties.getTrustedAddresses().contains(address)) {
+            return address;
+        }
+        String client = request.getHeader(properties.getClientHeader());
+        return client != null && !client.isEmpty() ? client : address;
+    }
+
+    private ClientBudget budgetFor(String client, long now) {
+        ClientBudget budget = clients.get(client);
+        if (budget != null) {
+            return budget;
+        }
+        if (clients.size() >= properties.getMaxClients()) {
+            sweep(now);
+            if (clients.size() >= properties.getMaxClients()) {
+                return overflow;
+            }
+        }
+        return clients.computeIfAbsent(client, key -> new ClientBudget(properties, now));
+    }
+
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = clients.size();
+            clients.values().removeIf(budget -> budget.isIdle(now));
+            log.debug("Rate limiter dropped {} idle clients", before - clients.size());
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, byte[] body)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Releases the in-flight slot of an async request exactly once, whichever way it ends.
+     */
+    private class InFlightRelease implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static class ClientBudget {
+        private final TokenBucket read;
+        private final TokenBucket write;
+
+        ClientBudget(RateLimitProperties properties, long now) {
+            this.read = new TokenBucket(properties.getRead().getCapacity(), properties.getRead().getRefillPerSecond(),
+                    now);
+            this.write = new TokenBucket(properties.getWrite().getCapacity(),
+                    properties.getWrite().getRefillPerSecond(), now);
+        }
+
+        boolean isIdle(long now) {
+            return read.isFull(now) && write.isFull(now);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Set;
+
+/**
+ * Off by default; turn it on behind a gateway that knows its clients. Each client gets a read
+ * budget of 200 requests refilled at 100/s and a write budget of 50 refilled at 20/s. A batch
+ * request of up to 10 000 items takes one write token, so bulk loads should go through the batch
+ * endpoints rather than single POSTs.
+ */
+@Data
+@ConfigurationProperties(prefix = "filmorate.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled;
+
+    private String clientHeader = "X-Client-Id";
+
+    private Set<String> trustedAddresses = Set.of();
+
+    private int maxClients = 100_000;
+
+    private int maxInFlight = 180;
+
+    private Budget read = new Budget(200, 100);
+
+    private Budget write = new Budget(50, 20);
+
+    @Data
+    public static class Budget {
+        private int capacity;
+
+        private double refillPerSecond;
+
+        public Budget() {
+        }
+
+        public Budget(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
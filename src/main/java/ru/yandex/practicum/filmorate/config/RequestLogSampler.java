@@ -0,0 +1,60 @@
+package ru.yandex.practicum.filmorate.config;
+
+import org.slf4j.MDC;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per request whether the handler's request log lines are kept. The decision
+ * and the endpoint name are put into the MDC, where {@link SampledRequestFilter} drops
+ * unsampled lines before Logback builds an event for them.
+ */
+public class RequestLogSampler implements AsyncHandlerInterceptor {
+    static final String ENDPOINT_KEY = "endpoint";
+    static final String SAMPLED_KEY = "sampled";
+
+    private final double defaultSampleRate;
+    private final Map<String, Double> sampleRates;
+
+    public RequestLogSampler(LoggingProperties loggingProperties) {
+        this.defaultSampleRate = loggingProperties.getDefaultSampleRate();
+        this.sampleRates = Map.copyOf(loggingProperties.getSampleRates());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            String endpoint = ((HandlerMethod) handler).getMethod().getName();
+            double rate = sampleRates.getOrDefault(endpoint, defaultSampleRate);
+
+            MDC.put(ENDPOINT_KEY, endpoint);
+            MDC.remove(SAMPLED_KEY);
+            if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+                MDC.put(SAMPLED_KEY, "false");
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        clear();
+    }
+
+    private void clear() {
+        MDC.remove(ENDPOINT_KEY);
+        MDC.remove(SAMPLED_KEY);
+    }
+}
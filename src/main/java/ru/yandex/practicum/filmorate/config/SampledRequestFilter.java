@@ -0,0 +1,27 @@
+package ru.yandex.practicum.filmorate.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import lombok.Setter;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Drops INFO and below from request-handling loggers when {@link RequestLogSampler} left the
+ * current request out of the sample. Warnings and errors always pass.
+ */
+@Setter
+public class SampledRequestFilter extends TurboFilter {
+    private String loggerPrefix = "ru.yandex.practicum.filmorate.controller";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(RequestLogSampler.SAMPLED_KEY) == null ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.yandex.practicum.filmorate.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.repository.FilmRepository;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+import ru.yandex.practicum.filmorate.repository.UserRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.ChangeEventRing;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.IndexedFilmRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.IndexedUserRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.MeteredRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.PublishingRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.columnar.ColumnarFilmRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.columnar.ColumnarUserRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.journal.JournaledRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.journal.WriteAheadLog;
+import ru.yandex.practicum.filmorate.repository.inmemory.mapped.MappedFileRepository;
+
+import java.util.function.Supplier;
+
+/**
+ * Builds the single film and user repositories shared by every service: the storage engine
+ * is picked by {@code filmorate.storage.engine}, optional decorators are layered on top of it.
+ */
+@Configuration
+@EnableConfigurationProperties({StorageProperties.class, EventProperties.class})
+@Slf4j
+public class StorageConfig {
+    private final StorageProperties storageProperties;
+    private final EventProperties eventProperties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public StorageConfig(StorageProperties storageProperties, EventProperties eventProperties,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.storageProperties = storageProperties;
+        this.eventProperties = eventProperties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public ChangeEventRing changeEventRing() {
+        return new ChangeEventRing(eventProperties.getCapacity());
+    }
+
+    @Bean
+    public FilmRepository filmRepository() {
+        return new IndexedFilmRepository(decorate(createEngine("films", Film.class, ColumnarFilmRepository::new),
+                "films", Film.class));
+    }
+
+    @Bean
+    public UserRepository userRepository() {
+        return new IndexedUserRepository(decorate(createEngine("users", User.class, ColumnarUserRepository::new),
+                "users", User.class));
+    }
+
+    private <T extends BaseUnit> InMemoryRepository<T> createEngine(String name, Class<T> type,
+                                                                    Supplier<InMemoryRepository<T>> columnar) {
+        switch (storageProperties.getEngine()) {
+            case COLUMNAR:
+                return columnar.get();
+            case MAPPED:
+                StorageProperties.Mapped mapped = storageProperties.getMapped();
+                return new MappedFileRepository<>(mapped.getDirectory(), name, mapped.getSegmentSize(), objectMapper,
+                        type);
+            case MEMORY:
+            default:
+                return new InMemoryBaseRepository<>();
+        }
+    }
+
+    private <T extends BaseUnit> InMemoryRepository<T> decorate(InMemoryRepository<T> engine, String name,
+                                                                Class<T> type) {
+        StorageProperties.Journal journal = storageProperties.getJournal();
+        log.info("Storage for {}: engine={}, journal={}", name, storageProperties.getEngine(), journal.isEnabled());
+        InMemoryRepository<T> metered = new MeteredRepository<>(engine, name, meterRegistry);
+
+        InMemoryRepository<T> durable = !journal.isEnabled()
+                ? metered
+                : new JournaledRepository<>(metered,
+                        new WriteAheadLog(journal.getDirectory(), name, journal.isFsync()),
+                        objectMapper, type, journal.getSnapshotEvery());
+        return new PublishingRepository<>(durable, name, changeEventRing());
+    }
+}
@@ -0,0 +1,7 @@
+package ru.yandex.practicum.filmorate.config;
+
+public enum StorageEngine {
+    MEMORY,
+    COLUMNAR,
+    MAPPED
+}
@@ -0,0 +1,34 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "filmorate.storage")
+public class StorageProperties {
+    private StorageEngine engine = StorageEngine.MEMORY;
+
+    private Journal journal = new Journal();
+
+    private Mapped mapped = new Mapped();
+
+    @Data
+    public static class Journal {
+        private boolean enabled;
+
+        private Path directory = Path.of("data");
+
+        private boolean fsync = true;
+
+        private long snapshotEvery = 100_000;
+    }
+
+    @Data
+    public static class Mapped {
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "filmorate");
+
+        private int segmentSize = 64 * 1024 * 1024;
+    }
+}
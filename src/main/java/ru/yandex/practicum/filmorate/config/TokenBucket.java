@@ -0,0 +1,46 @@
+package ru.yandex.practicum.filmorate.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single "theoretical arrival time" (the moment the bucket is full again):
+ * a request is admitted if taking a token keeps that moment within {@code capacity} refill
+ * intervals of now.
+ * One CAS per request, no lock and no allocation.
+ */
+public class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong arrival;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Bucket needs a positive capacity and refill rate");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.arrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token, returning 0, or leaves the bucket untouched and returns the nanos until a
+     * token becomes available.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean isFull(long nowNanos) {
+        return arrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import ru.yandex.practicum.filmorate.model.validation.FilmValidator;
+import ru.yandex.practicum.filmorate.model.validation.UserValidator;
+
+/**
+ * Validators for request bodies and batch items, selected by {@code filmorate.validation.mode}:
+ * the annotation-driven Bean Validation path or the precompiled per-model validators.
+ */
+@Configuration
+@EnableConfigurationProperties(ValidationProperties.class)
+@Slf4j
+public class ValidationConfig {
+    private final ValidationProperties validationProperties;
+
+    public ValidationConfig(ValidationProperties validationProperties) {
+        log.info("Validation mode: {}", validationProperties.getMode());
+        this.validationProperties = validationProperties;
+    }
+
+    @Bean
+    public Validator filmValidator(javax.validation.Validator validator) {
+        return validationProperties.getMode() == ValidationMode.PRECOMPILED
+                ? new FilmValidator(validator)
+                : new SpringValidatorAdapter(validator);
+    }
+
+    @Bean
+    public Validator userValidator(javax.validation.Validator validator) {
+        return validationProperties.getMode() == ValidationMode.PRECOMPILED
+                ? new UserValidator(validator)
+                : new SpringValidatorAdapter(validator);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.yandex.practicum.filmorate.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The project still compiles for Java 11, so the Loom API is looked up reflectively and only
+ * touched when virtual execution is actually requested.
+ */
+final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Virtual threads are not available on Java " + Runtime.version()
+                    + ", use filmorate.web.execution-mode=platform or a JDK 21+ runtime", e);
+        }
+    }
+}
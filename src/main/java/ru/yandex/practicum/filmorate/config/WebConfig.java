@@ -0,0 +1,57 @@
+package ru.yandex.practicum.filmorate.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.yandex.practicum.filmorate.controller.ResponseCache;
+
+@Configuration
+@EnableConfigurationProperties({CacheProperties.class, LoggingProperties.class, RateLimitProperties.class})
+public class WebConfig implements WebMvcConfigurer {
+    private final LoggingProperties loggingProperties;
+
+    public WebConfig(LoggingProperties loggingProperties) {
+        this.loggingProperties = loggingProperties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestLogSampler(loggingProperties));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public ResponseCache responseCache(CacheProperties cacheProperties, ObjectMapper objectMapper,
+                                       MappingJackson2CborHttpMessageConverter cborConverter,
+                                       MeterRegistry meterRegistry) {
+        return new ResponseCache(objectMapper, cborConverter.getObjectMapper(),
+                cacheProperties.isEnabled() ? cacheProperties.getMaxBytes() : 0, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties rateLimitProperties,
+                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rateLimitProperties, meterRegistry));
+        registration.addUrlPatterns("/films", "/films/*", "/users", "/users/*");
+        registration.setEnabled(rateLimitProperties.isEnabled());
+        return registration;
+    }
+
+    @Bean
+    public TimedJacksonConverter timedJacksonConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new TimedJacksonConverter(objectMapper, meterRegistry);
+    }
+}
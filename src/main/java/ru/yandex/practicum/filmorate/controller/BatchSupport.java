@@ -0,0 +1,154 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.model.BatchItemResult;
+import ru.yandex.practicum.filmorate.service.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a batch as a JSON array or an NDJSON stream and validates every item against
+ * the same validator as the single-record endpoints, collecting errors per item. Items are
+ * read one at a time, so an oversized body is rejected as soon as it passes the size limit.
+ */
+class BatchSupport<T extends BaseUnit> {
+    static final int MAX_BATCH_SIZE = 10_000;
+
+    private final Validator validator;
+    private final String objectName;
+    private final ValidationMetrics validationMetrics;
+    private final ObjectReader itemReader;
+
+    BatchSupport(ObjectMapper objectMapper, Validator validator, ValidationMetrics validationMetrics, Class<T> type) {
+        this.validator = validator;
+        this.objectName = StringUtils.uncapitalize(type.getSimpleName());
+        this.validationMetrics = validationMetrics;
+        this.itemReader = objectMapper.readerFor(type);
+    }
+
+    List<T> read(MediaType contentType, InputStream body) throws IOException {
+        List<T> items = new ArrayList<>();
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(NdjsonWriter.APPLICATION_NDJSON_VALUE))) {
+            try (MappingIterator<T> iterator = itemReader.readValues(body)) {
+                while (iterator.hasNextValue()) {
+                    add(items, iterator.nextValue());
+                }
+            }
+        } else {
+            try (JsonParser parser = itemReader.createParser(body)) {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.VALUE_NULL) {
+                    throw new ValidationException("Empty batch");
+                }
+                if (token != JsonToken.START_ARRAY) {
+                    throw new ValidationException("Batch must be a JSON array");
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    add(items, itemReader.readValue(parser));
+                }
+                if (hasTrailingContent(parser)) {
+                    throw new ValidationException("Unexpected content after the batch array");
+                }
+            }
+        }
+
+        if (items.isEmpty()) {
+            throw new ValidationException("Empty batch");
+        }
+        return items;
+    }
+
+    private static boolean hasTrailingContent(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken() != null;
+        } catch (JsonProcessingException e) {
+            return true;
+        }
+    }
+
+    private static <T> void add(List<T> items, T item) {
+        if (items.size() == MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+        items.add(item);
+    }
+
+    List<BatchItemResult<T>> validate(List<T> items, boolean isUpdate) {
+        List<BatchItemResult<T>> results = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            List<String> errors = new ArrayList<>();
+
+            if (item == null) {
+                errors.add("item must not be null");
+            } else {
+                if (isUpdate && item.getId() == null) {
+                    errors.add("id: must not be null");
+                }
+                BindingResult bindingResult = new BeanPropertyBindingResult(item, objectName);
+                validator.validate(item, bindingResult);
+                for (FieldError error : bindingResult.getFieldErrors()) {
+                    errors.add(error.getField() + ": " + error.getDefaultMessage());
+                }
+                validationMetrics.record(bindingResult);
+            }
+
+            results.add(new BatchItemResult<>(i, errors.isEmpty() ? item : null, errors));
+        }
+        return results;
+    }
+
+    static <T extends BaseUnit> List<T> validItems(List<BatchItemResult<T>> results) {
+        return results.stream()
+                .map(BatchItemResult::getItem)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    static <T extends BaseUnit> void markNotFound(List<BatchItemResult<T>> results, List<T> updated) {
+        Set<T> updatedItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        updatedItems.addAll(updated);
+
+        for (BatchItemResult<T> result : results) {
+            T item = result.getItem();
+            if (item != null && !updatedItems.contains(item)) {
+                result.getErrors().add("Not found with id =" + item.getId());
+                result.setItem(null);
+            }
+        }
+    }
+
+    /**
+     * Moves the service's rejections onto the results; {@code rejected} is keyed by position among
+     * the {@link #validItems valid items}, the order the service received them in.
+     */
+    static <T extends BaseUnit> void markRejected(List<BatchItemResult<T>> results, Map<Integer, String> rejected) {
+        int position = 0;
+
+        for (BatchItemResult<T> result : results) {
+            if (result.getItem() != null) {
+                String error = rejected.get(position++);
+                if (error != null) {
+                    result.getErrors().add(error);
+                    result.setItem(null);
+                }
+            }
+        }
+    }
+}
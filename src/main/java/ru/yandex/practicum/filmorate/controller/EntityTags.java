@@ -0,0 +1,96 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.VersionConflictException;
+import ru.yandex.practicum.filmorate.service.exception.ValidationException;
+
+import java.security.SecureRandom;
+
+/**
+ * Strong entity tags of the form {@code "<epoch>-<version>"}. Versions are kept in memory only and
+ * start over after a restart, so the epoch is drawn once per process: a tag issued by an earlier
+ * instance never matches, and If-Match with it fails as a version conflict.
+ */
+final class EntityTags {
+    static final String EPOCH = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final char SEPARATOR = '-';
+
+    private EntityTags() {
+    }
+
+    static String toTag(BaseUnit baseUnit) {
+        return toTag(baseUnit.getVersion());
+    }
+
+    static String toTag(long version) {
+        return "\"" + EPOCH + SEPARATOR + version + "\"";
+    }
+
+    static <T extends BaseUnit> ResponseEntity<T> toResponse(T baseUnit) {
+        return ResponseEntity.ok()
+                .eTag(toTag(baseUnit))
+                .body(baseUnit);
+    }
+
+    static <T extends BaseUnit> ResponseEntity<T> toResponse(T baseUnit, String ifNoneMatch) {
+        String tag = toTag(baseUnit);
+
+        if (matches(ifNoneMatch, tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(tag)
+                .body(baseUnit);
+    }
+
+    static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith(WEAK_PREFIX)) {
+                candidate = candidate.substring(WEAK_PREFIX.length());
+            }
+            if (candidate.equals(ANY) || candidate.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.equals(ANY)) {
+            return null;
+        }
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+
+        int separator = tag.lastIndexOf(SEPARATOR);
+        long version;
+        try {
+            version = Long.parseLong(tag.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Malformed If-Match header: " + ifMatch);
+        }
+        if (separator < 0 || !tag.substring(0, separator).equals(EPOCH)) {
+            throw new VersionConflictException("If-Match tag " + ifMatch + " was issued by another server instance");
+        }
+        return version;
+    }
+}
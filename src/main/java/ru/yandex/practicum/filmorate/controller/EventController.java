@@ -0,0 +1,154 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.yandex.practicum.filmorate.config.EventProperties;
+import ru.yandex.practicum.filmorate.model.ChangeEvent;
+import ru.yandex.practicum.filmorate.model.EventPage;
+import ru.yandex.practicum.filmorate.service.EventService;
+import ru.yandex.practicum.filmorate.service.exception.ValidationException;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+@RequestMapping("/events")
+@Slf4j
+public class EventController {
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final EventService eventService;
+    private final EventProperties eventProperties;
+    private final ExecutorService streamSenders;
+
+    public EventController(EventService eventService, EventProperties eventProperties) {
+        this.eventService = eventService;
+        this.eventProperties = eventProperties;
+        this.streamSenders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "event-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @GetMapping
+    public DeferredResult<EventPage> getEvents(@RequestParam(defaultValue = "0") long after,
+                                               @RequestParam(required = false) Integer limit) {
+        log.info("Request getEvents after={}", after);
+        if (after < 0) {
+            throw new ValidationException("After must not be negative");
+        }
+        int pageLimit = Paging.checkLimit(limit);
+        DeferredResult<EventPage> result = new DeferredResult<>(eventProperties.getPollTimeout().toMillis(),
+                () -> new EventPage(List.of(), after, false));
+
+        EventPage page = eventService.getEvents(after, pageLimit);
+        if (!page.getEvents().isEmpty() || page.isMissed()) {
+            result.setResult(page);
+            return result;
+        }
+
+        EventService.EventSubscriber subscriber = () -> {
+            if (result.isSetOrExpired()) {
+                return true;
+            }
+            EventPage next = eventService.getEvents(after, pageLimit);
+            if (next.getEvents().isEmpty() && !next.isMissed()) {
+                return false;
+            }
+            result.setResult(next);
+            return true;
+        };
+        result.onCompletion(() -> eventService.unsubscribe(subscriber));
+        eventService.subscribe(subscriber);
+        return result;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId,
+                                   @RequestParam(required = false) Long after) {
+        long cursor = lastEventId != null ? lastEventId : after != null ? after : eventService.getLastSequence();
+        log.info("Request streamEvents after={}", cursor);
+
+        SseEmitter emitter = new SseEmitter(eventProperties.getStreamTimeout().toMillis());
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, cursor);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        eventService.subscribe(subscriber);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamSenders.shutdownNow();
+    }
+
+    /**
+     * One SSE consumer: at most one send is in flight per stream, so a slow client holds only its
+     * own sender thread and simply reads further behind in the ring.
+     */
+    private class StreamSubscriber implements EventService.EventSubscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean closed;
+
+        private StreamSubscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean onPublish() {
+            if (closed) {
+                return true;
+            }
+            if (sending.compareAndSet(false, true)) {
+                streamSenders.execute(this::send);
+            }
+            return false;
+        }
+
+        private void close() {
+            closed = true;
+            eventService.unsubscribe(this);
+        }
+
+        private void send() {
+            try {
+                EventPage page;
+                do {
+                    page = eventService.getEvents(cursor, Paging.MAX_LIMIT);
+                    if (page.isMissed()) {
+                        emitter.send(SseEmitter.event().name("missed").data(page.getEvents().isEmpty()
+                                ? page.getNext() : page.getEvents().get(0).getSequence()));
+                    }
+                    for (ChangeEvent event : page.getEvents()) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.getSequence()))
+                                .name(event.getEntity())
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                    cursor = page.getNext();
+                } while (page.getEvents().size() == Paging.MAX_LIMIT);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Event stream closed: {}", e.getMessage());
+                close();
+            } finally {
+                sending.set(false);
+            }
+
+            if (!closed && eventService.getLastSequence() > cursor) {
+                onPublish();
+            }
+        }
+    }
+}
@@ -1,44 +1,182 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.Validator;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
-import ru.yandex.practicum.filmorate.controller.exception.ValidationException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.filmorate.model.BatchItemResult;
 import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.exception.ValidationException;
 
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
+
 @RestController
 @RequestMapping("/films")
 @Validated
 @Slf4j
 public class FilmController {
     private final FilmService filmService;
+    private final NdjsonWriter ndjsonWriter;
+    private final BatchSupport<Film> batchSupport;
+    private final ResponseCache responseCache;
+    private final Validator filmValidator;
+
+    public FilmController(FilmService filmService, ObjectMapper objectMapper,
+                          @Qualifier("filmValidator") Validator filmValidator, ResponseCache responseCache,
+                          ValidationMetrics validationMetrics) {
+        this.filmService = filmService;
+        this.responseCache = responseCache;
+        this.filmValidator = filmValidator;
+        this.ndjsonWriter = new NdjsonWriter(objectMapper);
+        this.batchSupport = new BatchSupport<>(objectMapper, filmValidator, validationMetrics, Film.class);
+    }
 
-    public FilmController() {
-        filmService = new FilmService();
+    @InitBinder("film")
+    public void initBinder(WebDataBinder binder) {
+        binder.setValidator(filmValidator);
     }
 
     @GetMapping
-    public List<Film> getFilms() {
-        log.info("Request for get all films");
-        return filmService.getAllFilms();
+    public ResponseEntity<byte[]> getFilms(@RequestParam(required = false) Long offset,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) Long after,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DATE)
+                                           LocalDate releasedFrom,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DATE)
+                                           LocalDate releasedTo,
+                                           @RequestParam(required = false) Integer minDuration,
+                                           @RequestParam(required = false) Integer maxDuration,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                           String ifNoneMatch,
+                                           HttpServletRequest request) throws JsonProcessingException {
+        return responseCache.get(request, ifNoneMatch, filmService.getModificationVersion(),
+                () -> loadFilms(offset, limit, after, releasedFrom, releasedTo, minDuration, maxDuration));
+    }
+
+    private ResponseEntity<List<Film>> loadFilms(Long offset, Integer limit, Long after,
+                                                 LocalDate releasedFrom, LocalDate releasedTo,
+                                                 Integer minDuration, Integer maxDuration) {
+        if (Paging.isFiltered(releasedFrom, releasedTo, minDuration, maxDuration)) {
+            if (after != null) {
+                throw new ValidationException("Cursor paging is not supported with range filters");
+            }
+
+            long pageOffset = Paging.checkOffset(offset);
+            int pageLimit = Paging.checkLimit(limit);
+            log.info("Request for find films released {}..{} duration {}..{} offset={} limit={}",
+                    releasedFrom, releasedTo, minDuration, maxDuration, pageOffset, pageLimit);
+            return Paging.toOffsetResponse(filmService.findFilms(releasedFrom, releasedTo, minDuration, maxDuration,
+                    pageOffset, pageLimit), pageOffset, pageLimit);
+        }
+
+        if (!Paging.isRequested(offset, limit, after)) {
+            log.info("Request for get all films");
+            return ResponseEntity.ok(filmService.getAllFilms());
+        }
+
+        int pageLimit = Paging.checkLimit(limit);
+        log.info("Request for get films page offset={} after={} limit={}", offset, after, pageLimit);
+        List<Film> page = after != null
+                ? filmService.getFilmsAfter(after, pageLimit)
+                : filmService.getFilmsPage(Paging.checkOffset(offset), pageLimit);
+
+        return Paging.toResponse(page, pageLimit);
+    }
+
+    @GetMapping(produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamFilms() {
+        log.info("Request for stream all films");
+        Iterator<Film> films = filmService.iterateFilms();
+        return outputStream -> ndjsonWriter.write(films, outputStream);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Film> getFilm(@PathVariable long id,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                       String ifNoneMatch) {
+        log.info("Request for get film id={}", id);
+        return EntityTags.toResponse(filmService.getFilm(id), ifNoneMatch);
+    }
+
+    @GetMapping("/search")
+    public List<Film> searchFilms(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        log.info("Request for search films q={} limit={}", q, limit);
+        if (q.isBlank()) {
+            throw new ValidationException("Search query must not be empty");
+        }
+        return filmService.searchFilms(q, Paging.checkLimit(limit));
+    }
+
+    @GetMapping("/popular")
+    public List<Film> getPopularFilms(@RequestParam(defaultValue = "10") int count) {
+        log.info("Request for get {} popular films", count);
+        if (count <= 0) {
+            throw new ValidationException("Count must be positive");
+        }
+        return filmService.getPopularFilms(count);
+    }
+
+    @PutMapping("/{id}/like/{userId}")
+    public void addLike(@PathVariable long id, @PathVariable long userId) {
+        log.info("Request addLike film={} user={}", id, userId);
+        filmService.addLike(id, userId);
+    }
+
+    @DeleteMapping("/{id}/like/{userId}")
+    public void removeLike(@PathVariable long id, @PathVariable long userId) {
+        log.info("Request removeLike film={} user={}", id, userId);
+        filmService.removeLike(id, userId);
     }
 
     @PostMapping
-    public Film addFilm(@Validated @RequestBody Film film) {
-        log.info("Request addFilm {}", film);
-        return filmService.addFilm(film);
+    public ResponseEntity<Film> addFilm(@Validated @RequestBody Film film) {
+        log.info("Request addFilm name={} releaseDate={}", film.getName(), film.getReleaseDate());
+        return EntityTags.toResponse(filmService.addFilm(film));
     }
 
     @PutMapping
-    public Film updateFilm(@Validated @RequestBody Film film) {
-        log.info("Request updateFilm {}", film);
+    public ResponseEntity<Film> updateFilm(@Validated @RequestBody Film film,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Request updateFilm id={} name={} ifMatch={}", film.getId(), film.getName(), ifMatch);
         if (film.getId() == null) {
             throw new ValidationException("Film with empty Id");
         }
-        return filmService.updateFilm(film);
+        return EntityTags.toResponse(filmService.updateFilm(film, EntityTags.parseIfMatch(ifMatch)));
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.APPLICATION_NDJSON_VALUE})
+    public List<BatchItemResult<Film>> addFilms(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                InputStream body) throws IOException {
+        List<BatchItemResult<Film>> results = batchSupport.validate(batchSupport.read(contentType, body), false);
+        log.info("Request addFilms size={}", results.size());
+        filmService.addFilms(BatchSupport.validItems(results));
+        return results;
+    }
+
+    @PutMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.APPLICATION_NDJSON_VALUE})
+    public List<BatchItemResult<Film>> updateFilms(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                   InputStream body) throws IOException {
+        List<BatchItemResult<Film>> results = batchSupport.validate(batchSupport.read(contentType, body), true);
+        log.info("Request updateFilms size={}", results.size());
+        List<Film> updated = filmService.updateFilms(BatchSupport.validItems(results));
+        BatchSupport.markNotFound(results, updated);
+        return results;
+    }
 }
@@ -0,0 +1,45 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Writes records one per line straight into the response stream, so the whole collection
+ * is never materialized as a list or a single JSON document.
+ */
+class NdjsonWriter {
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ObjectWriter objectWriter;
+
+    NdjsonWriter(ObjectMapper objectMapper) {
+        this.objectWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+    }
+
+    <T> void write(Iterator<T> records, OutputStream outputStream) throws IOException {
+        long written = 0;
+        try (SequenceWriter sequenceWriter = objectWriter.writeValues(outputStream)) {
+            while (records.hasNext()) {
+                sequenceWriter.write(records.next());
+                if (++written % FLUSH_EVERY == 0) {
+                    sequenceWriter.flush();
+                }
+            }
+        }
+
+        if (written > 0) {
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+    }
+}
@@ -0,0 +1,83 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.service.exception.ValidationException;
+
+import java.util.List;
+
+final class Paging {
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private Paging() {
+    }
+
+    static boolean isRequested(Long offset, Integer limit, Long after) {
+        return offset != null || limit != null || after != null;
+    }
+
+    static boolean isFiltered(Object... filters) {
+        for (Object filter : filters) {
+            if (filter != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int checkLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    static long checkOffset(Long offset) {
+        if (offset == null) {
+            return 0;
+        }
+        if (offset < 0) {
+            throw new ValidationException("Offset must be positive or zero");
+        }
+        return offset;
+    }
+
+    static <T extends BaseUnit> ResponseEntity<List<T>> toResponse(List<T> page, int limit) {
+        if (page.size() < limit) {
+            return ResponseEntity.ok(page);
+        }
+
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("offset")
+                .replaceQueryParam("after", page.get(page.size() - 1).getId())
+                .replaceQueryParam("limit", limit)
+                .build()
+                .toUriString();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(page);
+    }
+
+    static <T extends BaseUnit> ResponseEntity<List<T>> toOffsetResponse(List<T> page, long offset, int limit) {
+        if (page.size() < limit) {
+            return ResponseEntity.ok(page);
+        }
+
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("offset", offset + limit)
+                .replaceQueryParam("limit", limit)
+                .build()
+                .toUriString();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(page);
+    }
+}
@@ -0,0 +1,166 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialized GET responses keyed by request URI. An entry is only served for the repository
+ * modification version it was built from, so writes invalidate it without any callback; the
+ * version, qualified with the process epoch of {@link EntityTags}, is also the strong ETag, so a
+ * matching If-None-Match is answered with 304 before the cache or Jackson are touched, and a tag
+ * from before a restart never matches. Entries are evicted least recently used first once their
+ * bodies exceed the byte budget. Clients preferring {@code application/cbor} get their own entries,
+ * written with the CBOR mapper.
+ */
+@Slf4j
+public class ResponseCache {
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private static final String CBOR_KEY_PREFIX = "cbor:";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final long maxBytes;
+    private final Timer serializationTimer;
+    private final LinkedHashMap<String, Entry> entries;
+    private long usedBytes;
+
+    public ResponseCache(ObjectMapper objectMapper, ObjectMapper cborMapper, long maxBytes,
+                         MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborMapper;
+        this.maxBytes = maxBytes;
+        this.serializationTimer = Timer.builder("filmorate.json.serialization")
+                .description("Time spent writing JSON responses")
+                .tag("writer", "response-cache")
+                .register(meterRegistry);
+        Gauge.builder("filmorate.response.cache.bytes", this, ResponseCache::getUsedBytes)
+                .description("Bytes held by cached response bodies")
+                .register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    <T> ResponseEntity<byte[]> get(HttpServletRequest request, String ifNoneMatch, long version,
+                                   Supplier<ResponseEntity<T>> loader) throws JsonProcessingException {
+        String tag = EntityTags.toTag(version);
+        if (EntityTags.matches(ifNoneMatch, tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+        }
+
+        boolean cbor = prefersCbor(request.getHeader(HttpHeaders.ACCEPT));
+        String key = cbor ? CBOR_KEY_PREFIX + keyOf(request) : keyOf(request);
+        Entry entry = lookup(key, version);
+        if (entry == null) {
+            ResponseEntity<T> response = loader.get();
+            long start = System.nanoTime();
+            byte[] body = (cbor ? cborMapper : objectMapper).writeValueAsBytes(response.getBody());
+            serializationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            entry = new Entry(version, body, response.getHeaders().getFirst(HttpHeaders.LINK));
+            store(key, entry);
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(tag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON);
+        if (entry.link != null) {
+            builder.header(HttpHeaders.LINK, entry.link);
+        }
+        return builder.body(entry.body);
+    }
+
+    private static boolean prefersCbor(String accept) {
+        if (accept == null || !accept.contains("cbor")) {
+            return false;
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String keyOf(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private synchronized Entry lookup(String key, long version) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.version == version ? entry : null;
+    }
+
+    private synchronized void store(String key, Entry entry) {
+        long size = sizeOf(key, entry);
+        if (size > maxBytes) {
+            return;
+        }
+
+        Entry previous = entries.put(key, entry);
+        usedBytes += size;
+        if (previous != null) {
+            usedBytes -= sizeOf(key, previous);
+        }
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            usedBytes -= sizeOf(evicted.getKey(), evicted.getValue());
+            eldest.remove();
+        }
+        log.debug("Cached {} ({} bytes), cache holds {} bytes", key, entry.body.length, usedBytes);
+    }
+
+    private static long sizeOf(String key, Entry entry) {
+        return ENTRY_OVERHEAD_BYTES + 2L * key.length() + entry.body.length
+                + (entry.link == null ? 0 : 2L * entry.link.length());
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final byte[] body;
+        private final String link;
+
+        private Entry(long version, byte[] body, String link) {
+            this.version = version;
+            this.body = body;
+            this.link = link;
+        }
+    }
+}
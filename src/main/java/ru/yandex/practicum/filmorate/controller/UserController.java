@@ -1,42 +1,195 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.Validator;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
-import ru.yandex.practicum.filmorate.controller.exception.ValidationException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.filmorate.model.BatchItemResult;
+import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.FilmService;
 import ru.yandex.practicum.filmorate.service.UserService;
+import ru.yandex.practicum.filmorate.service.exception.ValidationException;
 
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
+
 @RestController
 @RequestMapping("/users")
 @Slf4j
 public class UserController {
     private final UserService userService;
+    private final FilmService filmService;
+    private final NdjsonWriter ndjsonWriter;
+    private final BatchSupport<User> batchSupport;
+    private final ResponseCache responseCache;
+    private final Validator userValidator;
+
+    public UserController(UserService userService, FilmService filmService, ObjectMapper objectMapper,
+                          @Qualifier("userValidator") Validator userValidator, ResponseCache responseCache,
+                          ValidationMetrics validationMetrics) {
+        this.userService = userService;
+        this.filmService = filmService;
+        this.responseCache = responseCache;
+        this.userValidator = userValidator;
+        this.ndjsonWriter = new NdjsonWriter(objectMapper);
+        this.batchSupport = new BatchSupport<>(objectMapper, userValidator, validationMetrics, User.class);
+    }
 
-    public UserController() {
-        userService = new UserService();
+    @InitBinder("user")
+    public void initBinder(WebDataBinder binder) {
+        binder.setValidator(userValidator);
     }
 
     @GetMapping
-    public List<User> getUsers() {
-        log.info("Request for get all users");
-        return userService.getAllUsers();
+    public ResponseEntity<byte[]> getUsers(@RequestParam(required = false) Long offset,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) Long after,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DATE)
+                                           LocalDate bornFrom,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DATE)
+                                           LocalDate bornTo,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                           String ifNoneMatch,
+                                           HttpServletRequest request) throws JsonProcessingException {
+        return responseCache.get(request, ifNoneMatch, userService.getModificationVersion(),
+                () -> loadUsers(offset, limit, after, bornFrom, bornTo));
+    }
+
+    private ResponseEntity<List<User>> loadUsers(Long offset, Integer limit, Long after, LocalDate bornFrom,
+                                                 LocalDate bornTo) {
+        if (Paging.isFiltered(bornFrom, bornTo)) {
+            if (after != null) {
+                throw new ValidationException("Cursor paging is not supported with range filters");
+            }
+
+            long pageOffset = Paging.checkOffset(offset);
+            int pageLimit = Paging.checkLimit(limit);
+            log.info("Request for find users born {}..{} offset={} limit={}", bornFrom, bornTo, pageOffset, pageLimit);
+            return Paging.toOffsetResponse(userService.findUsers(bornFrom, bornTo, pageOffset, pageLimit),
+                    pageOffset, pageLimit);
+        }
+
+        if (!Paging.isRequested(offset, limit, after)) {
+            log.info("Request for get all users");
+            return ResponseEntity.ok(userService.getAllUsers());
+        }
+
+        int pageLimit = Paging.checkLimit(limit);
+        log.info("Request for get users page offset={} after={} limit={}", offset, after, pageLimit);
+        List<User> page = after != null
+                ? userService.getUsersAfter(after, pageLimit)
+                : userService.getUsersPage(Paging.checkOffset(offset), pageLimit);
+
+        return Paging.toResponse(page, pageLimit);
+    }
+
+    @GetMapping(produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamUsers() {
+        log.info("Request for stream all users");
+        Iterator<User> users = userService.iterateUsers();
+        return outputStream -> ndjsonWriter.write(users, outputStream);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<User> getUser(@PathVariable long id,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                       String ifNoneMatch) {
+        log.info("Request for get user id={}", id);
+        return EntityTags.toResponse(userService.getUser(id), ifNoneMatch);
+    }
+
+    @GetMapping("/by-login/{login}")
+    public ResponseEntity<User> getUserByLogin(@PathVariable String login) {
+        log.info("Request for get user login={}", login);
+        return EntityTags.toResponse(userService.getUserByLogin(login));
+    }
+
+    @GetMapping("/by-email/{email:.+}")
+    public ResponseEntity<User> getUserByEmail(@PathVariable String email) {
+        log.info("Request for get user email={}", email);
+        return EntityTags.toResponse(userService.getUserByEmail(email));
+    }
+
+    @GetMapping("/{id}/friends")
+    public List<User> getFriends(@PathVariable long id) {
+        log.info("Request getFriends user={}", id);
+        return userService.getFriends(id);
+    }
+
+    @GetMapping("/{id}/friends/common/{otherId}")
+    public List<User> getCommonFriends(@PathVariable long id, @PathVariable long otherId) {
+        log.info("Request getCommonFriends user={} other={}", id, otherId);
+        return userService.getCommonFriends(id, otherId);
+    }
+
+    @GetMapping("/{id}/recommendations")
+    public List<Film> getRecommendations(@PathVariable long id, @RequestParam(defaultValue = "10") int count) {
+        log.info("Request getRecommendations user={} count={}", id, count);
+        if (count <= 0) {
+            throw new ValidationException("Count must be positive");
+        }
+        return filmService.getRecommendations(id, count);
+    }
+
+    @PutMapping("/{id}/friends/{friendId}")
+    public void addFriend(@PathVariable long id, @PathVariable long friendId) {
+        log.info("Request addFriend user={} friend={}", id, friendId);
+        userService.addFriend(id, friendId);
+    }
+
+    @DeleteMapping("/{id}/friends/{friendId}")
+    public void removeFriend(@PathVariable long id, @PathVariable long friendId) {
+        log.info("Request removeFriend user={} friend={}", id, friendId);
+        userService.removeFriend(id, friendId);
     }
 
     @PostMapping
-    public User addUser(@Validated @RequestBody User user) {
-        log.info("Request addUser {}", user);
-        return userService.addUser(user);
+    public ResponseEntity<User> addUser(@Validated @RequestBody User user) {
+        log.info("Request addUser login={}", user.getLogin());
+        return EntityTags.toResponse(userService.addUser(user));
     }
 
     @PutMapping
-    public User updateUser(@Validated @RequestBody User user) {
-        log.info("Request updateUser {}", user);
+    public ResponseEntity<User> updateUser(@Validated @RequestBody User user,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Request updateUser id={} login={} ifMatch={}", user.getId(), user.getLogin(), ifMatch);
         if (user.getId() == null) {
             throw new ValidationException("User with empty Id");
         }
-        return userService.updateUser(user);
+        return EntityTags.toResponse(userService.updateUser(user, EntityTags.parseIfMatch(ifMatch)));
+    }
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.APPLICATION_NDJSON_VALUE})
+    public List<BatchItemResult<User>> addUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                InputStream body) throws IOException {
+        List<BatchItemResult<User>> results = batchSupport.validate(batchSupport.read(contentType, body), false);
+        log.info("Request addUsers size={}", results.size());
+        BatchSupport.markRejected(results, userService.addUsers(BatchSupport.validItems(results)));
+        return results;
+    }
+
+    @PutMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.APPLICATION_NDJSON_VALUE})
+    public List<BatchItemResult<User>> updateUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                   InputStream body) throws IOException {
+        List<BatchItemResult<User>> results = batchSupport.validate(batchSupport.read(contentType, body), true);
+        log.info("Request updateUsers size={}", results.size());
+        BatchSupport.markRejected(results, userService.updateUsers(BatchSupport.validItems(results)));
+        return results;
     }
 }
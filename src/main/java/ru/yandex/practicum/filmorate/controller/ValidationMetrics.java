@@ -0,0 +1,40 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+/**
+ * Counts rejected input per object, field and constraint, for single requests and batch
+ * items alike.
+ */
+@Component
+public class ValidationMetrics {
+    private static final String COUNTER_NAME = "filmorate.validation.failures";
+
+    private final MeterRegistry meterRegistry;
+
+    public ValidationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    private void increment(String object, String field, String constraint) {
+        Counter.builder(COUNTER_NAME)
+                .description("Rejected input values")
+                .tag("object", object)
+                .tag("field", field)
+                .tag("constraint", constraint)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    void record(BindingResult bindingResult) {
+        for (FieldError error : bindingResult.getFieldErrors()) {
+            increment(bindingResult.getObjectName(), error.getField(), String.valueOf(error.getCode()));
+        }
+        bindingResult.getGlobalErrors()
+                .forEach(error -> increment(bindingResult.getObjectName(), "", String.valueOf(error.getCode())));
+    }
+}
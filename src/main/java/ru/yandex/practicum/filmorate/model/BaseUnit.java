@@ -1,5 +1,6 @@
 package ru.yandex.practicum.filmorate.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -11,4 +12,7 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 public abstract class BaseUnit {
     private Long id;
+
+    @JsonIgnore
+    private long version;
 }
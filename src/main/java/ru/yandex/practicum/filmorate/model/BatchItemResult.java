@@ -0,0 +1,16 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult<T extends BaseUnit> {
+    private int index;
+
+    private T item;
+
+    private List<String> errors;
+}
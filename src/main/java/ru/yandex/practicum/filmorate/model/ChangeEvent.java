@@ -0,0 +1,18 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ChangeEvent {
+    private long sequence;
+
+    private String entity;
+
+    private ChangeType type;
+
+    private long id;
+
+    private long version;
+}
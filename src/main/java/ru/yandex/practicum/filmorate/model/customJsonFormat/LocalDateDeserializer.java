@@ -1,19 +1,64 @@
 package ru.yandex.practicum.filmorate.model.customJsonFormat;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 
 import java.io.IOException;
 import java.time.LocalDate;
 
+/**
+ * Parses {@code yyyy-MM-dd} straight from the parser's character buffer; anything else
+ * (extended years, stray whitespace) falls back to {@link LocalDate#parse}. Binary formats (CBOR)
+ * carry the epoch day as an integer.
+ */
 public class LocalDateDeserializer extends StdDeserializer<LocalDate> {
+    private static final int ISO_DATE_LENGTH = 10;
+
     public LocalDateDeserializer() {
         super(LocalDate.class);
     }
 
     @Override
     public LocalDate deserialize(JsonParser jsonParser, DeserializationContext context) throws IOException {
-        return LocalDate.parse(jsonParser.readValueAs(String.class));
+        if (jsonParser.hasToken(JsonToken.VALUE_NUMBER_INT) && isBinaryFormat(jsonParser)) {
+            return LocalDate.ofEpochDay(jsonParser.getLongValue());
+        }
+        if (!jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+            return (LocalDate) context.handleUnexpectedToken(LocalDate.class, jsonParser);
+        }
+
+        char[] text = jsonParser.getTextCharacters();
+        int offset = jsonParser.getTextOffset();
+        int length = jsonParser.getTextLength();
+
+        if (length == ISO_DATE_LENGTH && text[offset + 4] == '-' && text[offset + 7] == '-') {
+            int year = parseDigits(text, offset, 4);
+            int month = parseDigits(text, offset + 5, 2);
+            int day = parseDigits(text, offset + 8, 2);
+
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(new String(text, offset, length));
+    }
+
+    private static boolean isBinaryFormat(JsonParser jsonParser) {
+        return jsonParser.getCodec() != null && jsonParser.getCodec().getFactory().canHandleBinaryNatively();
+    }
+
+    private static int parseDigits(char[] text, int offset, int count) {
+        int value = 0;
+
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
     }
 }
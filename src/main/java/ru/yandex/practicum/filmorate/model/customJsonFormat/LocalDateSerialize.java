@@ -6,15 +6,47 @@ import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
+/**
+ * Writes {@code yyyy-MM-dd} digit by digit into a small char buffer handed to the generator,
+ * skipping {@code DateTimeFormatter} and the intermediate String. Binary formats (CBOR) get the
+ * epoch day as an integer instead.
+ */
 public class LocalDateSerialize extends StdSerializer<LocalDate> {
+    private static final int ISO_DATE_LENGTH = 10;
+
     public LocalDateSerialize() {
         super(LocalDate.class);
     }
 
     @Override
     public void serialize(LocalDate localDate, JsonGenerator jsonGenerator, SerializerProvider sp) throws IOException {
-        jsonGenerator.writeString(localDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
+        if (jsonGenerator.canWriteBinaryNatively()) {
+            jsonGenerator.writeNumber(localDate.toEpochDay());
+            return;
+        }
+
+        int year = localDate.getYear();
+
+        if (year < 0 || year > 9999) {
+            jsonGenerator.writeString(localDate.toString());
+            return;
+        }
+
+        char[] buffer = new char[ISO_DATE_LENGTH];
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, localDate.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, localDate.getDayOfMonth(), 2);
+
+        jsonGenerator.writeString(buffer, 0, ISO_DATE_LENGTH);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
     }
 }
@@ -0,0 +1,29 @@
+package ru.yandex.practicum.filmorate.model.validation;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.lang.annotation.Annotation;
+
+/**
+ * Resolves constraint messages once through the standard validator, so precompiled validators
+ * report exactly the text (and locale) the annotation-driven path would.
+ */
+final class ConstraintMessages {
+    private ConstraintMessages() {
+    }
+
+    static <T> String resolve(Validator validator, Class<T> type, String property, Object invalidValue,
+                              Class<? extends Annotation> constraint) {
+        for (ConstraintViolation<T> violation : validator.validateValue(type, property, invalidValue)) {
+            if (violation.getConstraintDescriptor().getAnnotation().annotationType() == constraint) {
+                return violation.getMessage();
+            }
+        }
+        throw new IllegalStateException("No " + constraint.getSimpleName() + " constraint on "
+                + type.getSimpleName() + "." + property);
+    }
+
+    static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
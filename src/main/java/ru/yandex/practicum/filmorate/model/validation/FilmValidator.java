@@ -0,0 +1,63 @@
+package ru.yandex.practicum.filmorate.model.validation;
+
+import org.springframework.validation.Errors;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import javax.validation.Validator;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+
+/**
+ * Hand-written checks for the constraints declared on {@link Film}, with messages cached from
+ * the standard validator at startup. Field errors carry the constraint name as their code.
+ */
+public class FilmValidator implements org.springframework.validation.Validator {
+    private static final int MAX_DESCRIPTION_LENGTH = 200;
+
+    private final String notBlankMessage;
+    private final String descriptionSizeMessage;
+    private final String releaseDateMessage;
+    private final String positiveMessage;
+
+    public FilmValidator(Validator validator) {
+        this.notBlankMessage = ConstraintMessages.resolve(validator, Film.class, "name", null, NotBlank.class);
+        this.descriptionSizeMessage = ConstraintMessages.resolve(validator, Film.class, "description",
+                "x".repeat(MAX_DESCRIPTION_LENGTH + 1), Size.class);
+        this.releaseDateMessage = ConstraintMessages.resolve(validator, Film.class, "releaseDate", null,
+                LaterStartDateRealeasedFilm.class);
+        this.positiveMessage = ConstraintMessages.resolve(validator, Film.class, "duration", 0, Positive.class);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return Film.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        Film film = (Film) target;
+
+        if (ConstraintMessages.isBlank(film.getName())) {
+            errors.rejectValue("name", "NotBlank", notBlankMessage);
+        }
+
+        String description = film.getDescription();
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            errors.rejectValue("description", "Size", descriptionSizeMessage);
+        }
+        if (ConstraintMessages.isBlank(description)) {
+            errors.rejectValue("description", "NotBlank", notBlankMessage);
+        }
+
+        LocalDate releaseDate = film.getReleaseDate();
+        if (!LaterStartDateRealeasedFilmValidator.isValid(releaseDate)) {
+            errors.rejectValue("releaseDate", "LaterStartDateRealeasedFilm", releaseDateMessage);
+        }
+
+        if (film.getDuration() <= 0) {
+            errors.rejectValue("duration", "Positive", positiveMessage);
+        }
+    }
+}
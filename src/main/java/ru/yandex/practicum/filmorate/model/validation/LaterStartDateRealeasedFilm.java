@@ -14,7 +14,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Retention(RUNTIME)
 @Documented
 public @interface LaterStartDateRealeasedFilm {
-    String message() default "";
+    String message() default "must be after 1895-12-28";
 
     Class<?>[] groups() default {};
 
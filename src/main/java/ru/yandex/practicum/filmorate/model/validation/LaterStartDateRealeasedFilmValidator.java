@@ -9,6 +9,10 @@ public class LaterStartDateRealeasedFilmValidator
 
     @Override
     public boolean isValid(LocalDate value, ConstraintValidatorContext context) {
+        return isValid(value);
+    }
+
+    static boolean isValid(LocalDate value) {
         if (value == null) {
             return false;
         }
@@ -0,0 +1,141 @@
+package ru.yandex.practicum.filmorate.model.validation;
+
+import org.springframework.validation.Errors;
+import ru.yandex.practicum.filmorate.model.User;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.PastOrPresent;
+import javax.validation.constraints.Pattern;
+import java.time.LocalDate;
+
+/**
+ * Hand-written checks for the constraints declared on {@link User}. Plain ASCII addresses are
+ * accepted by a single scan that admits a subset of what Hibernate's {@code @Email} accepts;
+ * anything else (quoted local parts, IDN or literal domains, invalid input) is decided by the
+ * standard validator, so the outcome never differs from the annotation-driven path.
+ */
+public class UserValidator implements org.springframework.validation.Validator {
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_DOMAIN_LENGTH = 255;
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final String ATOM_SYMBOLS = "!#$%&'*+/=?^_`{|}~";
+
+    private final Validator validator;
+    private final String notBlankMessage;
+    private final String emailMessage;
+    private final String loginPatternMessage;
+    private final String pastOrPresentMessage;
+
+    public UserValidator(Validator validator) {
+        this.validator = validator;
+        this.notBlankMessage = ConstraintMessages.resolve(validator, User.class, "login", null, NotBlank.class);
+        this.emailMessage = ConstraintMessages.resolve(validator, User.class, "email", "@", Email.class);
+        this.loginPatternMessage = ConstraintMessages.resolve(validator, User.class, "login", "a b", Pattern.class);
+        this.pastOrPresentMessage = ConstraintMessages.resolve(validator, User.class, "birthday", LocalDate.MAX,
+                PastOrPresent.class);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return User.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        User user = (User) target;
+
+        String email = user.getEmail();
+        if (email != null && !email.isEmpty() && !isValidEmail(email)) {
+            errors.rejectValue("email", "Email", emailMessage);
+        }
+        if (ConstraintMessages.isBlank(email)) {
+            errors.rejectValue("email", "NotBlank", notBlankMessage);
+        }
+
+        String login = user.getLogin();
+        if (ConstraintMessages.isBlank(login)) {
+            errors.rejectValue("login", "NotBlank", notBlankMessage);
+        }
+        if (login != null && !isWithoutWhitespace(login)) {
+            errors.rejectValue("login", "Pattern", loginPatternMessage);
+        }
+
+        LocalDate birthday = user.getBirthday();
+        if (birthday != null && birthday.isAfter(LocalDate.now())) {
+            errors.rejectValue("birthday", "PastOrPresent", pastOrPresentMessage);
+        }
+    }
+
+    private boolean isValidEmail(String email) {
+        if (isPlainEmail(email)) {
+            return true;
+        }
+        for (ConstraintViolation<User> violation : validator.validateValue(User.class, "email", email)) {
+            if (violation.getConstraintDescriptor().getAnnotation().annotationType() == Email.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isPlainEmail(String email) {
+        int at = email.lastIndexOf('@');
+        if (at < 1 || at > MAX_LOCAL_PART_LENGTH || email.length() - at - 1 > MAX_DOMAIN_LENGTH) {
+            return false;
+        }
+
+        boolean atomStart = true;
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (atomStart) {
+                    return false;
+                }
+                atomStart = true;
+            } else if (isAsciiAlphanumeric(c) || c == '-' || ATOM_SYMBOLS.indexOf(c) >= 0) {
+                atomStart = false;
+            } else {
+                return false;
+            }
+        }
+        if (atomStart) {
+            return false;
+        }
+
+        int labelStart = at + 1;
+        for (int i = labelStart; i <= email.length(); i++) {
+            char c = i < email.length() ? email.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH
+                        || email.charAt(labelStart) == '-' || email.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (!isAsciiAlphanumeric(c) && c != '-' && ATOM_SYMBOLS.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isWithoutWhitespace(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
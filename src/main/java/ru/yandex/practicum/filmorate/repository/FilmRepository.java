@@ -0,0 +1,15 @@
+package ru.yandex.practicum.filmorate.repository;
+
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+
+public interface FilmRepository extends InMemoryRepository<Film> {
+    public List<Film> search(String query, int limit);
+
+    public Iterator<Film> iterateByReleaseDate(LocalDate from, LocalDate to);
+
+    public Iterator<Film> iterateByDuration(Integer min, Integer max);
+}
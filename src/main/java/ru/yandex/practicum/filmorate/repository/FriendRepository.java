@@ -0,0 +1,11 @@
+package ru.yandex.practicum.filmorate.repository;
+
+public interface FriendRepository {
+    public void addFriend(long userId, long friendId);
+
+    public void removeFriend(long userId, long friendId);
+
+    public long[] getFriendIds(long userId);
+
+    public long[] getCommonFriendIds(long userId, long otherId);
+}
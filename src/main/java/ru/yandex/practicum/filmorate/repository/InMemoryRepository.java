@@ -1,6 +1,7 @@
 package ru.yandex.practicum.filmorate.repository;
 
 import ru.yandex.practicum.filmorate.model.BaseUnit;
+import java.util.Iterator;
 import java.util.List;
 
 public interface InMemoryRepository<T extends BaseUnit> {
@@ -8,7 +9,21 @@ public interface InMemoryRepository<T extends BaseUnit> {
 
     public List<T> getAll();
 
+    public Iterator<T> iterator();
+
+    public List<T> getPage(long offset, int limit);
+
+    public List<T> getPageAfter(long afterId, int limit);
+
     public T save(T baseUnit);
 
+    public List<T> saveAll(List<T> baseUnits);
+
+    public T update(T baseUnit, Long expectedVersion);
+
     public void deleteById(long id);
+
+    public long getModificationVersion();
+
+    public long size();
 }
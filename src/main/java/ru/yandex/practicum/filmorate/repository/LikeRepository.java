@@ -0,0 +1,15 @@
+package ru.yandex.practicum.filmorate.repository;
+
+import java.util.List;
+
+public interface LikeRepository {
+    public boolean addLike(long filmId, long userId);
+
+    public boolean removeLike(long filmId, long userId);
+
+    public int getLikesCount(long filmId);
+
+    public List<Long> getPopularFilmIds(int count);
+
+    public List<Long> getRecommendedFilmIds(long userId, int count);
+}
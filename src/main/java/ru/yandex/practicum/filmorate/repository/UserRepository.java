@@ -0,0 +1,14 @@
+package ru.yandex.practicum.filmorate.repository;
+
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+
+public interface UserRepository extends InMemoryRepository<User> {
+    public User findByLogin(String login);
+
+    public User findByEmail(String email);
+
+    public Iterator<User> iterateByBirthday(LocalDate from, LocalDate to);
+}
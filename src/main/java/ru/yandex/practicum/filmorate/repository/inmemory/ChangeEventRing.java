@@ -0,0 +1,71 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import ru.yandex.practicum.filmorate.model.ChangeEvent;
+import ru.yandex.practicum.filmorate.model.ChangeType;
+import ru.yandex.practicum.filmorate.model.EventPage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer ring of change events. A writer claims a sequence with one atomic
+ * increment and stores the event into its slot, overwriting the oldest one: writers never wait
+ * for consumers. A consumer that falls more than a ring behind gets {@code missed} and resumes
+ * from the oldest event still held, so it knows to resynchronize. Sequences start over on every
+ * boot, so a cursor ahead of the last published event is from a previous run and is treated
+ * the same way.
+ */
+public class ChangeEventRing {
+    private final AtomicReferenceArray<ChangeEvent> slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile Runnable listener = () -> {
+    };
+
+    public ChangeEventRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two, got " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public void onPublish(Runnable listener) {
+        this.listener = listener;
+    }
+
+    public long lastSequence() {
+        return claimed.get();
+    }
+
+    public ChangeEvent publish(String entity, ChangeType type, long id, long version) {
+        long sequence = claimed.incrementAndGet();
+        ChangeEvent event = new ChangeEvent(sequence, entity, type, id, version);
+        slots.set((int) (sequence & mask), event);
+        listener.run();
+        return event;
+    }
+
+    public EventPage read(long after, int limit) {
+        long last = claimed.get();
+        long oldest = Math.max(last - slots.length() + 1, 1);
+        boolean missed = after + 1 < oldest || after > last;
+        long sequence = missed ? oldest : after + 1;
+        List<ChangeEvent> events = new ArrayList<>(Math.min(limit, 64));
+
+        while (events.size() < limit) {
+            ChangeEvent event = slots.get((int) (sequence & mask));
+            if (event == null || event.getSequence() < sequence) {
+                break;
+            }
+            if (event.getSequence() > sequence) {
+                return read(after, limit);
+            }
+            events.add(event);
+            sequence++;
+        }
+        return new EventPage(events, sequence - 1, missed);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Base for repository decorators: forwards every call to the wrapped storage engine,
+ * subclasses override only the operations they add behaviour to. Closing a decorator closes the
+ * engine underneath it, so a bean wrapping a journaled or file-backed store still releases it.
+ */
+public abstract class DelegatingRepository<T extends BaseUnit> implements InMemoryRepository<T>, Closeable {
+    protected final InMemoryRepository<T> delegate;
+
+    protected DelegatingRepository(InMemoryRepository<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    protected Iterator<T> getByIds(Iterator<Long> ids) {
+        return new Iterator<>() {
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && ids.hasNext()) {
+                    next = delegate.getById(ids.next());
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T current = next;
+                next = null;
+                return current;
+            }
+        };
+    }
+
+    @Override
+    public T getById(long id) {
+        return delegate.getById(id);
+    }
+
+    @Override
+    public List<T> getAll() {
+        return delegate.getAll();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    public List<T> getPage(long offset, int limit) {
+        return delegate.getPage(offset, limit);
+    }
+
+    @Override
+    public List<T> getPageAfter(long afterId, int limit) {
+        return delegate.getPageAfter(afterId, limit);
+    }
+
+    @Override
+    public T save(T baseUnit) {
+        return delegate.save(baseUnit);
+    }
+
+    @Override
+    public List<T> saveAll(List<T> baseUnits) {
+        return delegate.saveAll(baseUnits);
+    }
+
+    @Override
+    public T update(T baseUnit, Long expectedVersion) {
+        return delegate.update(baseUnit, expectedVersion);
+    }
+
+    @Override
+    public void deleteById(long id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public long getModificationVersion() {
+        return delegate.getModificationVersion();
+    }
+
+    @Override
+    public long size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+}
@@ -1,23 +1,39 @@
 package ru.yandex.practicum.filmorate.repository.inmemory;
 
-import org.springframework.stereotype.Repository;
 import ru.yandex.practicum.filmorate.model.BaseUnit;
 import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.VersionConflictException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-@Repository
+/**
+ * Lock-free storage: ids come from an atomic sequence and records live in a skip-list
+ * keyed by id, so iteration order equals insertion order and readers never block writers.
+ */
 public class InMemoryBaseRepository<T extends BaseUnit> implements InMemoryRepository<T> {
-    private final Map<Long, T> inMemoryMap;
-    private long idValue;
+    private static final int MAX_PREALLOCATED_PAGE = 1024;
+
+    private final ConcurrentNavigableMap<Long, T> inMemoryMap;
+    private final AtomicLong idValue;
+    private final AtomicLong modificationVersion;
+    private final AtomicLong size;
 
     public InMemoryBaseRepository() {
-        this.inMemoryMap = new LinkedHashMap<>();
-        this.idValue = 0;
+        this.inMemoryMap = new ConcurrentSkipListMap<>();
+        this.idValue = new AtomicLong();
+        this.modificationVersion = new AtomicLong();
+        this.size = new AtomicLong();
     }
 
     private long getNextValueSequince() {
-        return ++idValue;
+        return idValue.incrementAndGet();
+    }
+
+    private void advanceValueSequince(long id) {
+        idValue.accumulateAndGet(id, Math::max);
     }
 
     @Override
@@ -30,18 +46,111 @@ public class InMemoryBaseRepository<T extends BaseUnit> implements InMemoryRepos
         return new ArrayList<>(inMemoryMap.values());
     }
 
+    @Override
+    public Iterator<T> iterator() {
+        return Collections.unmodifiableCollection(inMemoryMap.values()).iterator();
+    }
+
+    @Override
+    public List<T> getPage(long offset, int limit) {
+        return copyPage(inMemoryMap.values().iterator(), offset, limit);
+    }
+
+    @Override
+    public List<T> getPageAfter(long afterId, int limit) {
+        return copyPage(inMemoryMap.tailMap(afterId, false).values().iterator(), 0, limit);
+    }
+
+    private List<T> copyPage(Iterator<T> iterator, long offset, int limit) {
+        for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+
+        List<T> page = new ArrayList<>(Math.min(limit, MAX_PREALLOCATED_PAGE));
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    private void put(T baseUnit) {
+        boolean[] inserted = new boolean[1];
+
+        inMemoryMap.compute(baseUnit.getId(), (id, current) -> {
+            inserted[0] = current == null;
+            baseUnit.setVersion(current == null ? 1 : current.getVersion() + 1);
+            return baseUnit;
+        });
+        if (inserted[0]) {
+            size.incrementAndGet();
+        }
+        modificationVersion.incrementAndGet();
+    }
+
     @Override
     public T save(T baseUnit) {
         if (baseUnit.getId() == null) {
             baseUnit.setId(getNextValueSequince());
+        } else {
+            advanceValueSequince(baseUnit.getId());
         }
 
-        inMemoryMap.put(baseUnit.getId(), baseUnit);
+        put(baseUnit);
         return baseUnit;
     }
 
+    @Override
+    public List<T> saveAll(List<T> baseUnits) {
+        long newUnits = baseUnits.stream()
+                .filter(baseUnit -> baseUnit.getId() == null)
+                .count();
+        long nextId = idValue.getAndAdd(newUnits) + 1;
+
+        for (T baseUnit : baseUnits) {
+            if (baseUnit.getId() == null) {
+                baseUnit.setId(nextId++);
+            } else {
+                advanceValueSequince(baseUnit.getId());
+            }
+
+            put(baseUnit);
+        }
+        return baseUnits;
+    }
+
+    @Override
+    public T update(T baseUnit, Long expectedVersion) {
+        T updated = inMemoryMap.computeIfPresent(baseUnit.getId(), (id, current) -> {
+            if (expectedVersion != null && current.getVersion() != expectedVersion) {
+                throw new VersionConflictException("Version mismatch for id =" + id + ": expected " + expectedVersion
+                        + ", actual " + current.getVersion());
+            }
+
+            baseUnit.setVersion(current.getVersion() + 1);
+            return baseUnit;
+        });
+
+        if (updated != null) {
+            modificationVersion.incrementAndGet();
+        }
+        return updated;
+    }
+
     @Override
     public void deleteById(long id) {
-        inMemoryMap.remove(id);
+        if (inMemoryMap.remove(id) != null) {
+            size.decrementAndGet();
+            modificationVersion.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long getModificationVersion() {
+        return modificationVersion.get();
+    }
+
+    @Override
+    public long size() {
+        return size.get();
     }
 }
@@ -0,0 +1,95 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.filmorate.repository.FriendRepository;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Stores every adjacency list as an immutable sorted {@code long[]} (8 bytes per edge
+ * instead of a boxed {@code Long} plus a hash node), replaced atomically on change.
+ * Readers get a stable snapshot and common friends is a linear merge of two arrays.
+ */
+@Repository
+public class InMemoryFriendRepository implements FriendRepository {
+    private static final long[] NO_FRIENDS = new long[0];
+
+    private final ConcurrentMap<Long, long[]> friendsByUser;
+
+    public InMemoryFriendRepository() {
+        this.friendsByUser = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void addFriend(long userId, long friendId) {
+        friendsByUser.compute(userId, (id, friends) -> insert(friends, friendId));
+        friendsByUser.compute(friendId, (id, friends) -> insert(friends, userId));
+    }
+
+    @Override
+    public void removeFriend(long userId, long friendId) {
+        friendsByUser.computeIfPresent(userId, (id, friends) -> remove(friends, friendId));
+        friendsByUser.computeIfPresent(friendId, (id, friends) -> remove(friends, userId));
+    }
+
+    @Override
+    public long[] getFriendIds(long userId) {
+        return friendsByUser.getOrDefault(userId, NO_FRIENDS);
+    }
+
+    @Override
+    public long[] getCommonFriendIds(long userId, long otherId) {
+        long[] friends = getFriendIds(userId);
+        long[] otherFriends = getFriendIds(otherId);
+        long[] common = new long[Math.min(friends.length, otherFriends.length)];
+        int size = 0;
+
+        for (int i = 0, j = 0; i < friends.length && j < otherFriends.length; ) {
+            if (friends[i] < otherFriends[j]) {
+                i++;
+            } else if (friends[i] > otherFriends[j]) {
+                j++;
+            } else {
+                common[size++] = friends[i];
+                i++;
+                j++;
+            }
+        }
+        return size == common.length ? common : Arrays.copyOf(common, size);
+    }
+
+    private static long[] insert(long[] friends, long friendId) {
+        if (friends == null) {
+            return new long[]{friendId};
+        }
+
+        int position = Arrays.binarySearch(friends, friendId);
+        if (position >= 0) {
+            return friends;
+        }
+
+        int insertAt = -position - 1;
+        long[] updated = new long[friends.length + 1];
+        System.arraycopy(friends, 0, updated, 0, insertAt);
+        updated[insertAt] = friendId;
+        System.arraycopy(friends, insertAt, updated, insertAt + 1, friends.length - insertAt);
+        return updated;
+    }
+
+    private static long[] remove(long[] friends, long friendId) {
+        int position = Arrays.binarySearch(friends, friendId);
+        if (position < 0) {
+            return friends;
+        }
+        if (friends.length == 1) {
+            return null;
+        }
+
+        long[] updated = new long[friends.length - 1];
+        System.arraycopy(friends, 0, updated, 0, position);
+        System.arraycopy(friends, position + 1, updated, position, friends.length - position - 1);
+        return updated;
+    }
+}
@@ -0,0 +1,251 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.filmorate.repository.LikeRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a ranking of liked films ordered by (likes desc, id asc) next to the like sets,
+ * so a like costs O(log n) and the top-N query just reads the head of the ranking.
+ *
+ * <p>Every user's likes are also kept as a {@link LikeBitmap} in an append-only registry of
+ * fixed-size chunks; a fork-join scan walks the chunks in parallel to find the users whose likes
+ * overlap the most. Bitmaps are immutable, so the scan reads them without locking.
+ */
+@Repository
+public class InMemoryLikeRepository implements LikeRepository {
+    private static final int NEIGHBORS = 20;
+    private static final int REGISTRY_CHUNK = 4096;
+
+    private final ConcurrentMap<Long, Set<Long>> likesByFilm;
+    private final ConcurrentSkipListSet<Rank> ranking;
+    private final ConcurrentMap<Long, Integer> userSlots;
+    private final StripedLocks userLocks;
+    private final Object registryLock = new Object();
+    private volatile RegistryChunk[] registry;
+    private volatile int registered;
+
+    public InMemoryLikeRepository() {
+        this.likesByFilm = new ConcurrentHashMap<>();
+        this.ranking = new ConcurrentSkipListSet<>();
+        this.userSlots = new ConcurrentHashMap<>();
+        this.userLocks = new StripedLocks();
+        this.registry = new RegistryChunk[0];
+    }
+
+    @Override
+    public boolean addLike(long filmId, long userId) {
+        Set<Long> likes = likesByFilm.computeIfAbsent(filmId, id -> new HashSet<>());
+
+        synchronized (likes) {
+            if (!likes.add(userId)) {
+                return false;
+            }
+            moveRank(filmId, likes.size() - 1, likes.size());
+            updateUserLikes(userId, filmId, true);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean removeLike(long filmId, long userId) {
+        Set<Long> likes = likesByFilm.get(filmId);
+        if (likes == null) {
+            return false;
+        }
+
+        synchronized (likes) {
+            if (!likes.remove(userId)) {
+                return false;
+            }
+            moveRank(filmId, likes.size() + 1, likes.size());
+            updateUserLikes(userId, filmId, false);
+            return true;
+        }
+    }
+
+    @Override
+    public int getLikesCount(long filmId) {
+        Set<Long> likes = likesByFilm.get(filmId);
+        if (likes == null) {
+            return 0;
+        }
+
+        synchronized (likes) {
+            return likes.size();
+        }
+    }
+
+    @Override
+    public List<Long> getPopularFilmIds(int count) {
+        List<Long> filmIds = new ArrayList<>(count);
+        Iterator<Rank> iterator = ranking.iterator();
+
+        while (filmIds.size() < count && iterator.hasNext()) {
+            filmIds.add(iterator.next().filmId);
+        }
+        return filmIds;
+    }
+
+    @Override
+    public List<Long> getRecommendedFilmIds(long userId, int count) {
+        Integer slot = userSlots.get(userId);
+        if (slot == null) {
+            return new ArrayList<>();
+        }
+        int users = registered;
+        RegistryChunk[] chunks = registry;
+        LikeBitmap ownLikes = chunks[slot / REGISTRY_CHUNK].likes[slot % REGISTRY_CHUNK];
+        if (ownLikes.cardinality() == 0) {
+            return new ArrayList<>();
+        }
+
+        LikeNeighbors neighbors = ForkJoinPool.commonPool()
+                .invoke(new SimilarUsersTask(chunks, users, 0, (users + REGISTRY_CHUNK - 1) / REGISTRY_CHUNK,
+                        userId, ownLikes.toDense()));
+
+        Map<Long, Long> scores = new HashMap<>();
+        for (int i = 0; i < neighbors.size(); i++) {
+            long overlap = neighbors.overlap(i);
+            neighbors.likes(i).forEach(filmId -> {
+                if (!ownLikes.contains(filmId)) {
+                    scores.merge(filmId, overlap, Long::sum);
+                }
+            });
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(count)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private void updateUserLikes(long userId, long filmId, boolean liked) {
+        int slot = userSlots.computeIfAbsent(userId, this::register);
+        LikeBitmap[] likes = registry[slot / REGISTRY_CHUNK].likes;
+        int index = slot % REGISTRY_CHUNK;
+
+        synchronized (userLocks.lockFor(userId)) {
+            likes[index] = liked ? likes[index].with(filmId) : likes[index].without(filmId);
+        }
+    }
+
+    private int register(long userId) {
+        synchronized (registryLock) {
+            int slot = registered;
+            if (slot / REGISTRY_CHUNK == registry.length) {
+                RegistryChunk[] grown = Arrays.copyOf(registry, registry.length + 1);
+                grown[registry.length] = new RegistryChunk();
+                registry = grown;
+            }
+
+            RegistryChunk chunk = registry[slot / REGISTRY_CHUNK];
+            chunk.userIds[slot % REGISTRY_CHUNK] = userId;
+            chunk.likes[slot % REGISTRY_CHUNK] = LikeBitmap.EMPTY;
+            registered = slot + 1;
+            return slot;
+        }
+    }
+
+    private void moveRank(long filmId, int oldLikes, int newLikes) {
+        if (oldLikes > 0) {
+            ranking.remove(new Rank(filmId, oldLikes));
+        }
+        if (newLikes > 0) {
+            ranking.add(new Rank(filmId, newLikes));
+        }
+    }
+
+    private static final class Rank implements Comparable<Rank> {
+        private final long filmId;
+        private final int likes;
+
+        private Rank(long filmId, int likes) {
+            this.filmId = filmId;
+            this.likes = likes;
+        }
+
+        @Override
+        public int compareTo(Rank other) {
+            int byLikes = Integer.compare(other.likes, likes);
+            return byLikes != 0 ? byLikes : Long.compare(filmId, other.filmId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Rank)) {
+                return false;
+            }
+            Rank rank = (Rank) o;
+            return filmId == rank.filmId && likes == rank.likes;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filmId, likes);
+        }
+    }
+
+    private static final class RegistryChunk {
+        private final long[] userIds = new long[REGISTRY_CHUNK];
+        private final LikeBitmap[] likes = new LikeBitmap[REGISTRY_CHUNK];
+    }
+
+    private static final class SimilarUsersTask extends RecursiveTask<LikeNeighbors> {
+        private final RegistryChunk[] chunks;
+        private final int users;
+        private final int fromChunk;
+        private final int toChunk;
+        private final long userId;
+        private final LikeBitmap ownLikes;
+
+        private SimilarUsersTask(RegistryChunk[] chunks, int users, int fromChunk, int toChunk, long userId,
+                                 LikeBitmap ownLikes) {
+            this.chunks = chunks;
+            this.users = users;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.userId = userId;
+            this.ownLikes = ownLikes;
+        }
+
+        @Override
+        protected LikeNeighbors compute() {
+            if (toChunk - fromChunk == 1) {
+                return scan(chunks[fromChunk], Math.min(REGISTRY_CHUNK, users - fromChunk * REGISTRY_CHUNK));
+            }
+
+            int middle = (fromChunk + toChunk) >>> 1;
+            SimilarUsersTask left = new SimilarUsersTask(chunks, users, fromChunk, middle, userId, ownLikes);
+            left.fork();
+            LikeNeighbors right = new SimilarUsersTask(chunks, users, middle, toChunk, userId, ownLikes).compute();
+            return left.join().merge(right);
+        }
+
+        private LikeNeighbors scan(RegistryChunk chunk, int size) {
+            LikeNeighbors neighbors = new LikeNeighbors(NEIGHBORS);
+
+            for (int i = 0; i < size; i++) {
+                LikeBitmap likes = chunk.likes[i];
+                if (likes.cardinality() > 0 && chunk.userIds[i] != userId) {
+                    int overlap = ownLikes.intersectionCardinality(likes);
+                    if (overlap > 0) {
+                        neighbors.offer(chunk.userIds[i], overlap, likes);
+                    }
+                }
+            }
+            return neighbors;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.repository.FilmRepository;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a text index over film names and descriptions and range indexes over release date and
+ * duration next to the storage. After every write the film is re-indexed from whatever the
+ * storage holds at that moment, under a per-id lock, so the last writer always leaves the
+ * indexes matching the stored record.
+ */
+public class IndexedFilmRepository extends DelegatingRepository<Film> implements FilmRepository {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final TextIndex textIndex;
+    private final RangeIndex releaseDateIndex;
+    private final RangeIndex durationIndex;
+    private final StripedLocks locks;
+    private final AtomicLong indexVersion;
+
+    public IndexedFilmRepository(InMemoryRepository<Film> delegate) {
+        super(delegate);
+        this.textIndex = new TextIndex();
+        this.releaseDateIndex = new RangeIndex();
+        this.durationIndex = new RangeIndex();
+        this.locks = new StripedLocks();
+        this.indexVersion = new AtomicLong();
+
+        Iterator<Film> films = delegate.iterator();
+        while (films.hasNext()) {
+            index(films.next());
+        }
+    }
+
+    private void index(Film film) {
+        Map<String, Integer> weights = new HashMap<>();
+        TextIndex.tokenize(film.getName(), NAME_WEIGHT, weights);
+        TextIndex.tokenize(film.getDescription(), DESCRIPTION_WEIGHT, weights);
+        textIndex.index(film.getId(), weights);
+        releaseDateIndex.put(film.getId(), RangeIndex.epochDay(film.getReleaseDate()));
+        durationIndex.put(film.getId(), film.getDuration());
+    }
+
+    private void reindex(long id) {
+        synchronized (locks.lockFor(id)) {
+            Film film = delegate.getById(id);
+            if (film == null) {
+                textIndex.remove(id);
+                releaseDateIndex.remove(id);
+                durationIndex.remove(id);
+            } else {
+                index(film);
+            }
+        }
+        indexVersion.incrementAndGet();
+    }
+
+    @Override
+    public List<Film> search(String query, int limit) {
+        long[] ids = textIndex.search(query, limit);
+        List<Film> films = new ArrayList<>(ids.length);
+
+        for (long id : ids) {
+            Film film = delegate.getById(id);
+            if (film != null) {
+                films.add(film);
+            }
+        }
+        return films;
+    }
+
+    @Override
+    public Iterator<Film> iterateByReleaseDate(LocalDate from, LocalDate to) {
+        return getByIds(releaseDateIndex.range(RangeIndex.epochDay(from), RangeIndex.epochDay(to)));
+    }
+
+    @Override
+    public Iterator<Film> iterateByDuration(Integer min, Integer max) {
+        return getByIds(durationIndex.range(min, max));
+    }
+
+    @Override
+    public Film save(Film film) {
+        delegate.save(film);
+        reindex(film.getId());
+        return film;
+    }
+
+    @Override
+    public List<Film> saveAll(List<Film> films) {
+        delegate.saveAll(films);
+        for (Film film : films) {
+            reindex(film.getId());
+        }
+        return films;
+    }
+
+    @Override
+    public Film update(Film film, Long expectedVersion) {
+        Film updatedFilm = delegate.update(film, expectedVersion);
+
+        if (updatedFilm != null) {
+            reindex(updatedFilm.getId());
+        }
+        return updatedFilm;
+    }
+
+    @Override
+    public void deleteById(long id) {
+        delegate.deleteById(id);
+        reindex(id);
+    }
+
+    @Override
+    public long getModificationVersion() {
+        return delegate.getModificationVersion() + indexVersion.get();
+    }
+}
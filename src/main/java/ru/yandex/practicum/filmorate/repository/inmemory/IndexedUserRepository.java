@@ -0,0 +1,215 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+import ru.yandex.practicum.filmorate.repository.UserRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.DuplicateException;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps unique login and email indexes and a birthday range index next to the user storage.
+ * Unique keys are claimed before the record is written and the replaced keys are released after
+ * it, all under a per-id lock, so a lookup never sees a key pointing at a record that does not
+ * carry it.
+ */
+@Slf4j
+public class IndexedUserRepository extends DelegatingRepository<User> implements UserRepository {
+    private final UniqueIndex loginIndex;
+    private final UniqueIndex emailIndex;
+    private final RangeIndex birthdayIndex;
+    private final StripedLocks locks;
+    private final AtomicLong indexVersion;
+
+    public IndexedUserRepository(InMemoryRepository<User> delegate) {
+        super(delegate);
+        this.loginIndex = new UniqueIndex();
+        this.emailIndex = new UniqueIndex();
+        this.birthdayIndex = new RangeIndex();
+        this.locks = new StripedLocks();
+        this.indexVersion = new AtomicLong();
+
+        rebuild();
+    }
+
+    private void rebuild() {
+        Iterator<User> users = delegate.iterator();
+
+        while (users.hasNext()) {
+            User user = users.next();
+            if (!loginIndex.claim(loginKey(user), user.getId()) || !emailIndex.claim(emailKey(user), user.getId())) {
+                log.warn("Stored user id={} duplicates login or email of another user", user.getId());
+            }
+            birthdayIndex.put(user.getId(), RangeIndex.epochDay(user.getBirthday()));
+        }
+    }
+
+    private static String loginKey(User user) {
+        return user.getLogin();
+    }
+
+    private static String emailKey(User user) {
+        return normalizeEmail(user.getEmail());
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+
+    private void claim(User user, long id) {
+        if (!loginIndex.claim(loginKey(user), id)) {
+            throw new DuplicateException("Login is already in use: " + user.getLogin());
+        }
+        if (!emailIndex.claim(emailKey(user), id)) {
+            releaseIfNotOwned(loginIndex, loginKey(user), null, id);
+            throw new DuplicateException("Email is already in use: " + user.getEmail());
+        }
+    }
+
+    private static void releaseIfNotOwned(UniqueIndex index, String key, String ownedKey, long id) {
+        if (!Objects.equals(key, ownedKey)) {
+            index.release(key, id);
+        }
+    }
+
+    private void releaseClaims(User user, User current, long id) {
+        releaseIfNotOwned(loginIndex, loginKey(user), current == null ? null : loginKey(current), id);
+        releaseIfNotOwned(emailIndex, emailKey(user), current == null ? null : emailKey(current), id);
+    }
+
+    private void reindexBirthday(long id) {
+        synchronized (locks.lockFor(id)) {
+            User user = delegate.getById(id);
+            birthdayIndex.put(id, user == null ? null : RangeIndex.epochDay(user.getBirthday()));
+        }
+        indexVersion.incrementAndGet();
+    }
+
+    private User findBy(UniqueIndex index, String key) {
+        Long id = index.get(key);
+        return id == null ? null : delegate.getById(id);
+    }
+
+    @Override
+    public User findByLogin(String login) {
+        return findBy(loginIndex, login);
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        return findBy(emailIndex, normalizeEmail(email));
+    }
+
+    @Override
+    public Iterator<User> iterateByBirthday(LocalDate from, LocalDate to) {
+        return getByIds(birthdayIndex.range(RangeIndex.epochDay(from), RangeIndex.epochDay(to)));
+    }
+
+    @Override
+    public User save(User user) {
+        if (user.getId() != null) {
+            return write(user, delegate::save);
+        }
+
+        claim(user, UniqueIndex.PENDING);
+        try {
+            delegate.save(user);
+        } catch (RuntimeException e) {
+            releaseClaims(user, null, UniqueIndex.PENDING);
+            throw e;
+        }
+
+        loginIndex.assign(loginKey(user), user.getId());
+        emailIndex.assign(emailKey(user), user.getId());
+        reindexBirthday(user.getId());
+        return user;
+    }
+
+    @Override
+    public List<User> saveAll(List<User> users) {
+        if (users.stream().anyMatch(user -> user.getId() != null)) {
+            users.forEach(this::save);
+            return users;
+        }
+
+        int claimed = 0;
+        try {
+            for (User user : users) {
+                claim(user, UniqueIndex.PENDING);
+                claimed++;
+            }
+            delegate.saveAll(users);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < claimed; i++) {
+                releaseClaims(users.get(i), null, UniqueIndex.PENDING);
+            }
+            throw e;
+        }
+
+        for (User user : users) {
+            loginIndex.assign(loginKey(user), user.getId());
+            emailIndex.assign(emailKey(user), user.getId());
+            reindexBirthday(user.getId());
+        }
+        return users;
+    }
+
+    @Override
+    public User update(User user, Long expectedVersion) {
+        return write(user, candidate -> delegate.update(candidate, expectedVersion));
+    }
+
+    private User write(User user, UnaryOperator<User> writer) {
+        long id = user.getId();
+
+        synchronized (locks.lockFor(id)) {
+            User current = delegate.getById(id);
+            claim(user, id);
+
+            User written;
+            try {
+                written = writer.apply(user);
+            } catch (RuntimeException e) {
+                releaseClaims(user, current, id);
+                throw e;
+            }
+
+            if (written == null) {
+                releaseClaims(user, current, id);
+            } else {
+                if (current != null) {
+                    releaseClaims(current, user, id);
+                }
+                reindexBirthday(id);
+            }
+            return written;
+        }
+    }
+
+    @Override
+    public void deleteById(long id) {
+        synchronized (locks.lockFor(id)) {
+            User current = delegate.getById(id);
+            delegate.deleteById(id);
+
+            if (current != null) {
+                loginIndex.release(loginKey(current), id);
+                emailIndex.release(emailKey(current), id);
+            }
+            birthdayIndex.remove(id);
+        }
+        indexVersion.incrementAndGet();
+    }
+
+    @Override
+    public long getModificationVersion() {
+        return delegate.getModificationVersion() + indexVersion.get();
+    }
+}
@@ -0,0 +1,262 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Immutable compressed set of film ids in the Roaring layout: ids are grouped by their high bits,
+ * each group keeps its low 16 bits either as a sorted {@code char[]} or, once it holds more than
+ * {@link #ARRAY_LIMIT} ids, as a 65536-bit {@code long[]}. Intersections of two dense groups
+ * are a popcount over ANDed words. Updates copy only the touched group, so readers need no lock.
+ */
+final class LikeBitmap {
+    static final LikeBitmap EMPTY = new LikeBitmap(new long[0], new Object[0], 0);
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final int PROBE_RATIO = 16;
+
+    private final long[] keys;
+    private final Object[] containers;
+    private final int cardinality;
+
+    private LikeBitmap(long[] keys, Object[] containers, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, id >>> Character.SIZE);
+        return index >= 0 && contains(containers[index], (char) id);
+    }
+
+    LikeBitmap with(long id) {
+        long key = id >>> Character.SIZE;
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, key);
+
+        if (index < 0) {
+            int insert = -index - 1;
+            long[] newKeys = new long[keys.length + 1];
+            Object[] newContainers = new Object[containers.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insert);
+            System.arraycopy(containers, 0, newContainers, 0, insert);
+            newKeys[insert] = key;
+            newContainers[insert] = new char[]{low};
+            System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+            System.arraycopy(containers, insert, newContainers, insert + 1, containers.length - insert);
+            return new LikeBitmap(newKeys, newContainers, cardinality + 1);
+        }
+        if (contains(containers[index], low)) {
+            return this;
+        }
+
+        Object[] newContainers = containers.clone();
+        newContainers[index] = add(containers[index], low);
+        return new LikeBitmap(keys, newContainers, cardinality + 1);
+    }
+
+    LikeBitmap without(long id) {
+        int index = Arrays.binarySearch(keys, id >>> Character.SIZE);
+        if (index < 0 || !contains(containers[index], (char) id)) {
+            return this;
+        }
+
+        Object container = remove(containers[index], (char) id);
+        if (container != null) {
+            Object[] newContainers = containers.clone();
+            newContainers[index] = container;
+            return new LikeBitmap(keys, newContainers, cardinality - 1);
+        }
+
+        long[] newKeys = new long[keys.length - 1];
+        Object[] newContainers = new Object[containers.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(containers, 0, newContainers, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(containers, index + 1, newContainers, index, containers.length - index - 1);
+        return new LikeBitmap(newKeys, newContainers, cardinality - 1);
+    }
+
+    /**
+     * Same set with every group stored as bits: a query side worth converting once when it is
+     * intersected with many small sets, each of their ids then costs one word lookup.
+     */
+    LikeBitmap toDense() {
+        Object[] dense = new Object[containers.length];
+        for (int i = 0; i < containers.length; i++) {
+            dense[i] = containers[i] instanceof char[] ? toWords((char[]) containers[i]) : containers[i];
+        }
+        return new LikeBitmap(keys, dense, cardinality);
+    }
+
+    int intersectionCardinality(LikeBitmap other) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                count += intersectionCardinality(containers[i++], other.containers[j++]);
+            }
+        }
+        return count;
+    }
+
+    void forEach(LongConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            long high = keys[i] << Character.SIZE;
+            Object container = containers[i];
+
+            if (container instanceof char[]) {
+                for (char low : (char[]) container) {
+                    action.accept(high | low);
+                }
+            } else {
+                long[] words = (long[]) container;
+                for (int word = 0; word < words.length; word++) {
+                    for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                        action.accept(high | ((long) word << 6) | Long.numberOfTrailingZeros(bits));
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean contains(Object container, char low) {
+        if (container instanceof char[]) {
+            return Arrays.binarySearch((char[]) container, low) >= 0;
+        }
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    private static Object add(Object container, char low) {
+        if (container instanceof long[]) {
+            long[] words = ((long[]) container).clone();
+            words[low >>> 6] |= 1L << low;
+            return words;
+        }
+
+        char[] values = (char[]) container;
+        if (values.length == ARRAY_LIMIT) {
+            long[] words = toWords(values);
+            words[low >>> 6] |= 1L << low;
+            return words;
+        }
+        int insert = -Arrays.binarySearch(values, low) - 1;
+        char[] newValues = new char[values.length + 1];
+        System.arraycopy(values, 0, newValues, 0, insert);
+        newValues[insert] = low;
+        System.arraycopy(values, insert, newValues, insert + 1, values.length - insert);
+        return newValues;
+    }
+
+    private static Object remove(Object container, char low) {
+        if (container instanceof long[]) {
+            long[] words = ((long[]) container).clone();
+            words[low >>> 6] &= ~(1L << low);
+            return bitCount(words) > ARRAY_LIMIT ? words : toValues(words);
+        }
+
+        char[] values = (char[]) container;
+        if (values.length == 1) {
+            return null;
+        }
+        int index = Arrays.binarySearch(values, low);
+        char[] newValues = new char[values.length - 1];
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+        return newValues;
+    }
+
+    private static int intersectionCardinality(Object left, Object right) {
+        if (left instanceof long[] && right instanceof long[]) {
+            long[] leftWords = (long[]) left;
+            long[] rightWords = (long[]) right;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                count += Long.bitCount(leftWords[i] & rightWords[i]);
+            }
+            return count;
+        }
+        if (left instanceof long[]) {
+            return intersectionCardinality(right, left);
+        }
+
+        char[] values = (char[]) left;
+        if (right instanceof long[]) {
+            long[] words = (long[]) right;
+            int count = 0;
+            for (char value : values) {
+                count += (int) (words[value >>> 6] >>> value) & 1;
+            }
+            return count;
+        }
+
+        char[] others = (char[]) right;
+        if (values.length > others.length) {
+            return intersectionCardinality(others, values);
+        }
+        if (values.length * PROBE_RATIO < others.length) {
+            int count = 0;
+            for (char value : values) {
+                if (Arrays.binarySearch(others, value) >= 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < values.length && j < others.length) {
+            if (values[i] < others[j]) {
+                i++;
+            } else if (values[i] > others[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private static long[] toWords(char[] values) {
+        long[] words = new long[BITMAP_WORDS];
+        for (char value : values) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return words;
+    }
+
+    private static char[] toValues(long[] words) {
+        char[] values = new char[bitCount(words)];
+        int position = 0;
+        for (int word = 0; word < words.length; word++) {
+            for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                values[position++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+            }
+        }
+        return values;
+    }
+
+    private static int bitCount(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,92 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+/**
+ * Bounded min-heap of the users with the largest like overlap; ties keep the smaller user id
+ * so the result does not depend on how the scan was split.
+ */
+final class LikeNeighbors {
+    private final long[] userIds;
+    private final int[] overlaps;
+    private final LikeBitmap[] likes;
+    private int size;
+
+    LikeNeighbors(int capacity) {
+        this.userIds = new long[capacity];
+        this.overlaps = new int[capacity];
+        this.likes = new LikeBitmap[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int overlap(int index) {
+        return overlaps[index];
+    }
+
+    LikeBitmap likes(int index) {
+        return likes[index];
+    }
+
+    void offer(long userId, int overlap, LikeBitmap userLikes) {
+        if (size < userIds.length) {
+            set(size, userId, overlap, userLikes);
+            siftUp(size++);
+        } else if (isBetter(userId, overlap, 0)) {
+            set(0, userId, overlap, userLikes);
+            siftDown(0);
+        }
+    }
+
+    LikeNeighbors merge(LikeNeighbors other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.userIds[i], other.overlaps[i], other.likes[i]);
+        }
+        return this;
+    }
+
+    private boolean isBetter(long userId, int overlap, int index) {
+        return overlap != overlaps[index] ? overlap > overlaps[index] : userId < userIds[index];
+    }
+
+    private void set(int index, long userId, int overlap, LikeBitmap userLikes) {
+        userIds[index] = userId;
+        overlaps[index] = overlap;
+        likes[index] = userLikes;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isBetter(userIds[parent], overlaps[parent], index)) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int worst = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (isBetter(userIds[worst], overlaps[worst], child)) {
+                    worst = child;
+                }
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int i, int j) {
+        long userId = userIds[i];
+        int overlap = overlaps[i];
+        LikeBitmap userLikes = likes[i];
+        set(i, userIds[j], overlaps[j], likes[j]);
+        set(j, userId, overlap, userLikes);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every storage operation and publishes the record count. Timers are resolved once in the
+ * constructor, so the hot path is two clock reads and a lock-free histogram update.
+ */
+public class MeteredRepository<T extends BaseUnit> extends DelegatingRepository<T> {
+    private static final String TIMER_NAME = "filmorate.repository.operation";
+
+    private final Timer getByIdTimer;
+    private final Timer getAllTimer;
+    private final Timer getPageTimer;
+    private final Timer saveTimer;
+    private final Timer saveAllTimer;
+    private final Timer updateTimer;
+    private final Timer deleteTimer;
+
+    public MeteredRepository(InMemoryRepository<T> delegate, String name, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.getByIdTimer = timer(meterRegistry, name, "getById");
+        this.getAllTimer = timer(meterRegistry, name, "getAll");
+        this.getPageTimer = timer(meterRegistry, name, "getPage");
+        this.saveTimer = timer(meterRegistry, name, "save");
+        this.saveAllTimer = timer(meterRegistry, name, "saveAll");
+        this.updateTimer = timer(meterRegistry, name, "update");
+        this.deleteTimer = timer(meterRegistry, name, "deleteById");
+
+        Gauge.builder("filmorate.repository.size", delegate, InMemoryRepository::size)
+                .description("Records held by the repository")
+                .tag("repository", name)
+                .register(meterRegistry);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String operation) {
+        return Timer.builder(TIMER_NAME)
+                .description("Repository operation latency")
+                .tag("repository", name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public T getById(long id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getById(id);
+        } finally {
+            getByIdTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<T> getAll() {
+        return getAllTimer.record(delegate::getAll);
+    }
+
+    @Override
+    public List<T> getPage(long offset, int limit) {
+        return getPageTimer.record(() -> delegate.getPage(offset, limit));
+    }
+
+    @Override
+    public List<T> getPageAfter(long afterId, int limit) {
+        return getPageTimer.record(() -> delegate.getPageAfter(afterId, limit));
+    }
+
+    @Override
+    public T save(T baseUnit) {
+        return saveTimer.record(() -> delegate.save(baseUnit));
+    }
+
+    @Override
+    public List<T> saveAll(List<T> baseUnits) {
+        return saveAllTimer.record(() -> delegate.saveAll(baseUnits));
+    }
+
+    @Override
+    public T update(T baseUnit, Long expectedVersion) {
+        return updateTimer.record(() -> delegate.update(baseUnit, expectedVersion));
+    }
+
+    @Override
+    public void deleteById(long id) {
+        deleteTimer.record(() -> delegate.deleteById(id));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.model.ChangeType;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+
+import java.util.List;
+
+/**
+ * Emits a change event for every mutation that reached the storage. Mutations of one id and
+ * their events happen under the same stripe lock, so per record the feed order is the write order.
+ */
+public class PublishingRepository<T extends BaseUnit> extends DelegatingRepository<T> {
+    private final String entity;
+    private final ChangeEventRing ring;
+    private final StripedLocks locks = new StripedLocks();
+
+    public PublishingRepository(InMemoryRepository<T> delegate, String entity, ChangeEventRing ring) {
+        super(delegate);
+        this.entity = entity;
+        this.ring = ring;
+    }
+
+    @Override
+    public T save(T baseUnit) {
+        if (baseUnit.getId() == null) {
+            delegate.save(baseUnit);
+            publish(ChangeType.SAVED, baseUnit);
+            return baseUnit;
+        }
+
+        synchronized (locks.lockFor(baseUnit.getId())) {
+            delegate.save(baseUnit);
+            publish(ChangeType.SAVED, baseUnit);
+        }
+        return baseUnit;
+    }
+
+    @Override
+    public List<T> saveAll(List<T> baseUnits) {
+        delegate.saveAll(baseUnits);
+        for (T baseUnit : baseUnits) {
+            publish(ChangeType.SAVED, baseUnit);
+        }
+        return baseUnits;
+    }
+
+    @Override
+    public T update(T baseUnit, Long expectedVersion) {
+        synchronized (locks.lockFor(baseUnit.getId())) {
+            T updated = delegate.update(baseUnit, expectedVersion);
+            if (updated != null) {
+                publish(ChangeType.UPDATED, updated);
+            }
+            return updated;
+        }
+    }
+
+    @Override
+    public void deleteById(long id) {
+        synchronized (locks.lockFor(id)) {
+            if (delegate.getById(id) != null) {
+                delegate.deleteById(id);
+                ring.publish(entity, ChangeType.DELETED, id, 0);
+            }
+        }
+    }
+
+    private void publish(ChangeType type, T baseUnit) {
+        ring.publish(entity, type, baseUnit.getId(), baseUnit.getVersion());
+    }
+}
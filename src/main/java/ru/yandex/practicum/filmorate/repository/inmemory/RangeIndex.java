@@ -0,0 +1,121 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Sorted index over an int key (epoch day, minutes). Ids are bucketed per key and sorted inside
+ * a bucket, so a range is walked in key-then-id order and costs the size of the result, not of
+ * the catalogue. Updates for one id must be serialized by the caller; a bucket is its own monitor
+ * for add and remove, and the last remove drops the key.
+ */
+class RangeIndex {
+    private final ConcurrentNavigableMap<Integer, Set<Long>> buckets;
+    private final ConcurrentMap<Long, Integer> keys;
+
+    RangeIndex() {
+        this.buckets = new ConcurrentSkipListMap<>();
+        this.keys = new ConcurrentHashMap<>();
+    }
+
+    static Integer epochDay(LocalDate date) {
+        return date == null ? null : Math.toIntExact(date.toEpochDay());
+    }
+
+    void put(long id, Integer key) {
+        if (key == null) {
+            remove(id);
+            return;
+        }
+
+        Integer previous = keys.put(id, key);
+        if (key.equals(previous)) {
+            return;
+        }
+
+        add(key, id);
+        if (previous != null) {
+            remove(previous, id);
+        }
+    }
+
+    void remove(long id) {
+        Integer previous = keys.remove(id);
+
+        if (previous != null) {
+            remove(previous, id);
+        }
+    }
+
+    private void add(int key, long id) {
+        while (true) {
+            Set<Long> bucket = bucketFor(key);
+            synchronized (bucket) {
+                if (buckets.get(key) == bucket) {
+                    bucket.add(id);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void remove(int key, long id) {
+        Set<Long> bucket = buckets.get(key);
+        if (bucket == null) {
+            return;
+        }
+
+        synchronized (bucket) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                buckets.remove(key, bucket);
+            }
+        }
+    }
+
+    private Set<Long> bucketFor(int key) {
+        Set<Long> bucket = buckets.get(key);
+
+        if (bucket == null) {
+            Set<Long> created = new ConcurrentSkipListSet<>();
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        return bucket;
+    }
+
+    int keyCount() {
+        return buckets.size();
+    }
+
+    Iterator<Long> range(Integer from, Integer to) {
+        NavigableMap<Integer, Set<Long>> range;
+
+        if (from != null && to != null) {
+            if (from > to) {
+                return Collections.emptyIterator();
+            }
+            range = buckets.subMap(from, true, to, true);
+        } else if (from != null) {
+            range = buckets.tailMap(from, true);
+        } else if (to != null) {
+            range = buckets.headMap(to, true);
+        } else {
+            range = buckets;
+        }
+
+        return range.values().stream()
+                .flatMap(Set::stream)
+                .iterator();
+    }
+}
@@ -0,0 +1,18 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+class StripedLocks {
+    private static final int STRIPES = 64;
+
+    private final Object[] locks;
+
+    StripedLocks() {
+        this.locks = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    Object lockFor(long id) {
+        return locks[(int) (id & (STRIPES - 1))];
+    }
+}
@@ -0,0 +1,310 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inverted index over free text. Terms live in a sorted map so a query token matches every term
+ * it prefixes. A query is driven by its most selective token and the other tokens are checked
+ * against each candidate's own sorted term list. Postings are ordered by id and each term keeps
+ * an upper bound of its weights; the driver's terms are merged in id order, so a top-k scan stops
+ * as soon as no later id can beat the worst hit. A postings map is its own monitor for add and
+ * remove, and the last remove drops the term from the dictionary.
+ */
+class TextIndex {
+    private static final int EXACT_MATCH_FACTOR = 2;
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingInt((Hit hit) -> hit.score)
+            .thenComparing(hit -> hit.id, Comparator.reverseOrder());
+
+    private final ConcurrentNavigableMap<String, Postings> postings;
+    private final ConcurrentMap<Long, Terms> documents;
+
+    TextIndex() {
+        this.postings = new ConcurrentSkipListMap<>();
+        this.documents = new ConcurrentHashMap<>();
+    }
+
+    static void tokenize(String text, int weight, Map<String, Integer> weights) {
+        if (text == null) {
+            return;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inToken = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inToken && start < 0) {
+                start = i;
+            } else if (!inToken && start >= 0) {
+                weights.merge(text.substring(start, i).toLowerCase(Locale.ROOT), weight, Integer::sum);
+                start = -1;
+            }
+        }
+    }
+
+    private static int matchScore(String term, String token, int weight) {
+        return term.length() == token.length() ? weight * EXACT_MATCH_FACTOR : weight;
+    }
+
+    void index(long id, Map<String, Integer> weights) {
+        Terms terms = new Terms(weights);
+        Terms previous = documents.put(id, terms);
+
+        for (int i = 0; i < terms.terms.length; i++) {
+            add(terms.terms[i], id, terms.weights[i]);
+        }
+        if (previous != null) {
+            for (String term : previous.terms) {
+                if (!weights.containsKey(term)) {
+                    remove(term, id);
+                }
+            }
+        }
+    }
+
+    void remove(long id) {
+        Terms previous = documents.remove(id);
+
+        if (previous != null) {
+            for (String term : previous.terms) {
+                remove(term, id);
+            }
+        }
+    }
+
+    private void add(String term, long id, int weight) {
+        while (true) {
+            Postings termPostings = postingsFor(term);
+            synchronized (termPostings) {
+                if (postings.get(term) == termPostings) {
+                    termPostings.add(id, weight);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void remove(String term, long id) {
+        Postings termPostings = postings.get(term);
+        if (termPostings == null) {
+            return;
+        }
+
+        synchronized (termPostings) {
+            termPostings.ids.remove(id);
+            if (termPostings.ids.isEmpty()) {
+                postings.remove(term, termPostings);
+            }
+        }
+    }
+
+    private Postings postingsFor(String term) {
+        Postings termPostings = postings.get(term);
+
+        if (termPostings == null) {
+            Postings created = new Postings();
+            termPostings = postings.putIfAbsent(term, created);
+            if (termPostings == null) {
+                termPostings = created;
+            }
+        }
+        return termPostings;
+    }
+
+    private NavigableMap<String, Postings> prefixed(String token) {
+        return postings.subMap(token, true, token + Character.MAX_VALUE, false);
+    }
+
+    private long countPrefixed(String token, long bound) {
+        long count = 0;
+
+        for (Postings termPostings : prefixed(token).values()) {
+            count += termPostings.ids.size();
+            if (count >= bound) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private int maxScore(String token) {
+        int max = 0;
+
+        for (Map.Entry<String, Postings> entry : prefixed(token).entrySet()) {
+            max = Math.max(max, matchScore(entry.getKey(), token, entry.getValue().maxWeight.get()));
+        }
+        return max;
+    }
+
+    long[] search(String query, int limit) {
+        Map<String, Integer> queryWeights = new HashMap<>();
+        tokenize(query, 1, queryWeights);
+        String[] tokens = queryWeights.keySet().toArray(new String[0]);
+
+        String driver = null;
+        long driverCount = Long.MAX_VALUE;
+        for (String token : tokens) {
+            long count = countPrefixed(token, driverCount);
+            if (count < driverCount) {
+                driver = token;
+                driverCount = count;
+            }
+        }
+        if (driver == null || driverCount == 0) {
+            return new long[0];
+        }
+
+        int bound = 0;
+        for (String token : tokens) {
+            bound += maxScore(token);
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparingLong(cursor -> cursor.id));
+        for (Map.Entry<String, Postings> term : prefixed(driver).entrySet()) {
+            Cursor cursor = new Cursor(term.getKey(), term.getValue().ids.entrySet().iterator());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+
+        while (!cursors.isEmpty()) {
+            if (top.size() == limit && top.peek().score >= bound) {
+                break;
+            }
+
+            long id = cursors.peek().id;
+            int driverScore = 0;
+            while (!cursors.isEmpty() && cursors.peek().id == id) {
+                Cursor cursor = cursors.poll();
+                driverScore = Math.max(driverScore, matchScore(cursor.term, driver, cursor.weight));
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+            offer(top, limit, id, score(id, driverScore, tokens, driver));
+        }
+
+        long[] ids = new long[top.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = top.poll().id;
+        }
+        return ids;
+    }
+
+    private int score(long id, int driverScore, String[] tokens, String driver) {
+        if (tokens.length == 1) {
+            return driverScore;
+        }
+
+        Terms terms = documents.get(id);
+        int rest = terms == null ? 0 : terms.score(tokens, driver);
+        return rest == 0 ? 0 : driverScore + rest;
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    private static void offer(PriorityQueue<Hit> top, int limit, long id, int score) {
+        if (score <= 0) {
+            return;
+        }
+        if (top.size() == limit) {
+            Hit worst = top.peek();
+            if (score < worst.score || score == worst.score && id > worst.id) {
+                return;
+            }
+        }
+
+        top.offer(new Hit(id, score));
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private static final class Postings {
+        private final ConcurrentSkipListMap<Long, Integer> ids;
+        private final AtomicInteger maxWeight;
+
+        private Postings() {
+            this.ids = new ConcurrentSkipListMap<>();
+            this.maxWeight = new AtomicInteger();
+        }
+
+        private void add(long id, int weight) {
+            ids.put(id, weight);
+            maxWeight.accumulateAndGet(weight, Math::max);
+        }
+    }
+
+    private static final class Cursor {
+        private final String term;
+        private final Iterator<Map.Entry<Long, Integer>> postings;
+        private long id;
+        private int weight;
+
+        private Cursor(String term, Iterator<Map.Entry<Long, Integer>> postings) {
+            this.term = term;
+            this.postings = postings;
+        }
+
+        private boolean advance() {
+            if (!postings.hasNext()) {
+                return false;
+            }
+            Map.Entry<Long, Integer> posting = postings.next();
+            id = posting.getKey();
+            weight = posting.getValue();
+            return true;
+        }
+    }
+
+    private static final class Hit {
+        private final long id;
+        private final int score;
+
+        private Hit(long id, int score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static final class Terms {
+        private final String[] terms;
+        private final int[] weights;
+
+        private Terms(Map<String, Integer> termWeights) {
+            this.terms = termWeights.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            this.weights = new int[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                weights[i] = termWeights.get(terms[i]);
+            }
+        }
+
+        private int score(String[] tokens, String skipped) {
+            int total = 0;
+
+            for (String token : tokens) {
+                if (token.equals(skipped)) {
+                    continue;
+                }
+
+                int best = 0;
+                int i = Arrays.binarySearch(terms, token);
+                for (i = i < 0 ? -i - 1 : i; i < terms.length && terms[i].startsWith(token); i++) {
+                    best = Math.max(best, matchScore(terms[i], token, weights[i]));
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Concurrent key -> id map where a key may belong to one record only. A key is claimed with
+ * putIfAbsent before the record is written, so a duplicate is rejected in O(1) and two racing
+ * writers can never both win the same key.
+ */
+class UniqueIndex {
+    static final long PENDING = -1;
+
+    private final ConcurrentMap<String, Long> ids;
+
+    UniqueIndex() {
+        this.ids = new ConcurrentHashMap<>();
+    }
+
+    Long get(String key) {
+        Long id = key == null ? null : ids.get(key);
+        return id == null || id == PENDING ? null : id;
+    }
+
+    boolean claim(String key, long id) {
+        if (key == null) {
+            return true;
+        }
+
+        Long owner = ids.putIfAbsent(key, id);
+        return owner == null || owner == id && id != PENDING;
+    }
+
+    void assign(String key, long id) {
+        if (key != null) {
+            ids.replace(key, PENDING, id);
+        }
+    }
+
+    void release(String key, long id) {
+        if (key != null) {
+            ids.remove(key, id);
+        }
+    }
+}
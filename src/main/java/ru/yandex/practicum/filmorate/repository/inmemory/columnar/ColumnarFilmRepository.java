@@ -0,0 +1,37 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.columnar;
+
+import ru.yandex.practicum.filmorate.model.Film;
+
+public class ColumnarFilmRepository extends ColumnarRepository<Film, ColumnarFilmRepository.FilmChunk> {
+    @Override
+    FilmChunk newChunk() {
+        return new FilmChunk();
+    }
+
+    @Override
+    void write(FilmChunk chunk, int row, Film film) {
+        chunk.names.set(row, film.getName());
+        chunk.descriptions.set(row, film.getDescription());
+        chunk.releaseDates[row] = encodeDate(film.getReleaseDate());
+        chunk.durations[row] = film.getDuration();
+    }
+
+    @Override
+    Film read(FilmChunk chunk, int row) {
+        return new Film(chunk.names.get(row), chunk.descriptions.get(row), decodeDate(chunk.releaseDates[row]),
+                chunk.durations[row]);
+    }
+
+    @Override
+    void clear(FilmChunk chunk, int row) {
+        chunk.names.clear(row);
+        chunk.descriptions.clear(row);
+    }
+
+    static final class FilmChunk extends ColumnarRepository.Chunk {
+        final StringColumn names = new StringColumn(CHUNK_SIZE);
+        final StringColumn descriptions = new StringColumn(CHUNK_SIZE);
+        final int[] releaseDates = new int[CHUNK_SIZE];
+        final int[] durations = new int[CHUNK_SIZE];
+    }
+}
@@ -0,0 +1,274 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.columnar;
+
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.VersionConflictException;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Column-wise storage: records live in fixed-size chunks holding one primitive array per field,
+ * and the id is the position inside the chunk, so it is never stored or boxed. Every read
+ * materializes a fresh object; writes copy the fields in and keep no reference to the caller's one.
+ * A chunk is its own lock, which keeps the fields of a row consistent between readers and writers.
+ */
+public abstract class ColumnarRepository<T extends BaseUnit, C extends ColumnarRepository.Chunk>
+        implements InMemoryRepository<T> {
+    static final int CHUNK_SIZE = 1024;
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int CHUNK_BITS = Integer.numberOfTrailingZeros(CHUNK_SIZE);
+    private static final int MAX_PREALLOCATED_PAGE = 1024;
+
+    private final ConcurrentNavigableMap<Long, C> chunks;
+    private final AtomicLong idValue;
+    private final AtomicLong modificationVersion;
+    private final AtomicLong size;
+
+    protected ColumnarRepository() {
+        this.chunks = new ConcurrentSkipListMap<>();
+        this.idValue = new AtomicLong();
+        this.modificationVersion = new AtomicLong();
+        this.size = new AtomicLong();
+    }
+
+    abstract C newChunk();
+
+    abstract void write(C chunk, int row, T baseUnit);
+
+    abstract T read(C chunk, int row);
+
+    abstract void clear(C chunk, int row);
+
+    static int encodeDate(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    static LocalDate decodeDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static long chunkIndex(long id) {
+        return id >> CHUNK_BITS;
+    }
+
+    private static int row(long id) {
+        return (int) (id & (CHUNK_SIZE - 1));
+    }
+
+    private T readRow(C chunk, long id) {
+        int row = row(id);
+
+        synchronized (chunk) {
+            long version = chunk.versions[row];
+            if (version == 0) {
+                return null;
+            }
+
+            T baseUnit = read(chunk, row);
+            baseUnit.setId(id);
+            baseUnit.setVersion(version);
+            return baseUnit;
+        }
+    }
+
+    @Override
+    public T getById(long id) {
+        C chunk = chunks.get(chunkIndex(id));
+        return chunk == null ? null : readRow(chunk, id);
+    }
+
+    @Override
+    public List<T> getAll() {
+        List<T> all = new ArrayList<>((int) Math.min(size.get(), Integer.MAX_VALUE));
+        iterator().forEachRemaining(all::add);
+        return all;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new RowIterator(Long.MIN_VALUE);
+    }
+
+    @Override
+    public List<T> getPage(long offset, int limit) {
+        long skipped = 0;
+
+        for (Map.Entry<Long, C> entry : chunks.entrySet()) {
+            C chunk = entry.getValue();
+            synchronized (chunk) {
+                for (int row = 0; row < CHUNK_SIZE; row++) {
+                    if (chunk.versions[row] != 0 && skipped++ == offset) {
+                        return copyPage(new RowIterator((entry.getKey() << CHUNK_BITS) | row), limit);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<T> getPageAfter(long afterId, int limit) {
+        return afterId == Long.MAX_VALUE ? new ArrayList<>() : copyPage(new RowIterator(afterId + 1), limit);
+    }
+
+    private List<T> copyPage(Iterator<T> iterator, int limit) {
+        List<T> page = new ArrayList<>(Math.min(limit, MAX_PREALLOCATED_PAGE));
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    private void put(T baseUnit) {
+        long id = baseUnit.getId();
+        C chunk = chunks.computeIfAbsent(chunkIndex(id), index -> newChunk());
+        int row = row(id);
+        boolean inserted;
+
+        synchronized (chunk) {
+            long version = chunk.versions[row];
+            write(chunk, row, baseUnit);
+            chunk.versions[row] = version + 1;
+            baseUnit.setVersion(version + 1);
+            inserted = version == 0;
+        }
+        if (inserted) {
+            size.incrementAndGet();
+        }
+        modificationVersion.incrementAndGet();
+    }
+
+    @Override
+    public T save(T baseUnit) {
+        if (baseUnit.getId() == null) {
+            baseUnit.setId(idValue.incrementAndGet());
+        } else {
+            idValue.accumulateAndGet(baseUnit.getId(), Math::max);
+        }
+
+        put(baseUnit);
+        return baseUnit;
+    }
+
+    @Override
+    public List<T> saveAll(List<T> baseUnits) {
+        long newUnits = baseUnits.stream()
+                .filter(baseUnit -> baseUnit.getId() == null)
+                .count();
+        long nextId = idValue.getAndAdd(newUnits) + 1;
+
+        for (T baseUnit : baseUnits) {
+            if (baseUnit.getId() == null) {
+                baseUnit.setId(nextId++);
+            } else {
+                idValue.accumulateAndGet(baseUnit.getId(), Math::max);
+            }
+
+            put(baseUnit);
+        }
+        return baseUnits;
+    }
+
+    @Override
+    public T update(T baseUnit, Long expectedVersion) {
+        long id = baseUnit.getId();
+        C chunk = chunks.get(chunkIndex(id));
+        if (chunk == null) {
+            return null;
+        }
+        int row = row(id);
+
+        synchronized (chunk) {
+            long version = chunk.versions[row];
+            if (version == 0) {
+                return null;
+            }
+            if (expectedVersion != null && version != expectedVersion) {
+                throw new VersionConflictException("Version mismatch for id =" + id + ": expected " + expectedVersion
+                        + ", actual " + version);
+            }
+
+            write(chunk, row, baseUnit);
+            chunk.versions[row] = version + 1;
+            baseUnit.setVersion(version + 1);
+        }
+        modificationVersion.incrementAndGet();
+        return baseUnit;
+    }
+
+    @Override
+    public void deleteById(long id) {
+        C chunk = chunks.get(chunkIndex(id));
+        if (chunk == null) {
+            return;
+        }
+        int row = row(id);
+
+        synchronized (chunk) {
+            if (chunk.versions[row] == 0) {
+                return;
+            }
+            clear(chunk, row);
+            chunk.versions[row] = 0;
+        }
+        size.decrementAndGet();
+        modificationVersion.incrementAndGet();
+    }
+
+    @Override
+    public long getModificationVersion() {
+        return modificationVersion.get();
+    }
+
+    @Override
+    public long size() {
+        return size.get();
+    }
+
+    abstract static class Chunk {
+        final long[] versions = new long[CHUNK_SIZE];
+    }
+
+    private class RowIterator implements Iterator<T> {
+        private final Iterator<Map.Entry<Long, C>> chunkIterator;
+        private final long firstId;
+        private Map.Entry<Long, C> current;
+        private int row;
+        private T next;
+
+        RowIterator(long firstId) {
+            this.chunkIterator = chunks.tailMap(chunkIndex(firstId), true).entrySet().iterator();
+            this.firstId = firstId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (current == null || row == CHUNK_SIZE) {
+                    if (!chunkIterator.hasNext()) {
+                        return false;
+                    }
+                    current = chunkIterator.next();
+                    row = current.getKey() == chunkIndex(firstId) ? row(firstId) : 0;
+                }
+                next = readRow(current.getValue(), (current.getKey() << CHUNK_BITS) | row++);
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            return result;
+        }
+    }
+}
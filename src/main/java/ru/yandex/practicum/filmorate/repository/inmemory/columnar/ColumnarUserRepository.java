@@ -0,0 +1,38 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.columnar;
+
+import ru.yandex.practicum.filmorate.model.User;
+
+public class ColumnarUserRepository extends ColumnarRepository<User, ColumnarUserRepository.UserChunk> {
+    @Override
+    UserChunk newChunk() {
+        return new UserChunk();
+    }
+
+    @Override
+    void write(UserChunk chunk, int row, User user) {
+        chunk.emails.set(row, user.getEmail());
+        chunk.logins.set(row, user.getLogin());
+        chunk.names.set(row, user.getName());
+        chunk.birthdays[row] = encodeDate(user.getBirthday());
+    }
+
+    @Override
+    User read(UserChunk chunk, int row) {
+        return new User(chunk.emails.get(row), chunk.logins.get(row), chunk.names.get(row),
+                decodeDate(chunk.birthdays[row]));
+    }
+
+    @Override
+    void clear(UserChunk chunk, int row) {
+        chunk.emails.clear(row);
+        chunk.logins.clear(row);
+        chunk.names.clear(row);
+    }
+
+    static final class UserChunk extends ColumnarRepository.Chunk {
+        final StringColumn emails = new StringColumn(CHUNK_SIZE);
+        final StringColumn logins = new StringColumn(CHUNK_SIZE);
+        final StringColumn names = new StringColumn(CHUNK_SIZE);
+        final int[] birthdays = new int[CHUNK_SIZE];
+    }
+}
@@ -0,0 +1,74 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.columnar;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strings of one chunk packed as UTF-8 into a shared byte arena. Overwritten values leave holes
+ * that are squeezed out whenever the arena has to be reallocated.
+ */
+final class StringColumn {
+    private static final int MIN_CAPACITY = 256;
+
+    private final int[] offsets;
+    private final int[] lengths;
+    private byte[] arena;
+    private int used;
+    private int live;
+
+    StringColumn(int rows) {
+        this.offsets = new int[rows];
+        this.lengths = new int[rows];
+        this.arena = new byte[0];
+    }
+
+    String get(int row) {
+        int length = lengths[row];
+        if (length == 0) {
+            return null;
+        }
+        return new String(arena, offsets[row], length - 1, StandardCharsets.UTF_8);
+    }
+
+    void set(int row, String value) {
+        clear(row);
+        if (value == null) {
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (used + bytes.length > arena.length) {
+            reallocate(bytes.length);
+        }
+        System.arraycopy(bytes, 0, arena, used, bytes.length);
+        offsets[row] = used;
+        lengths[row] = bytes.length + 1;
+        used += bytes.length;
+        live += bytes.length;
+    }
+
+    void clear(int row) {
+        live -= Math.max(lengths[row] - 1, 0);
+        lengths[row] = 0;
+    }
+
+    int capacity() {
+        return arena.length;
+    }
+
+    private void reallocate(int extra) {
+        int required = live + extra;
+        byte[] target = new byte[Math.max(required + (required >> 1), MIN_CAPACITY)];
+        int position = 0;
+
+        for (int row = 0; row < lengths.length; row++) {
+            int length = lengths[row] - 1;
+            if (length >= 0) {
+                System.arraycopy(arena, offsets[row], target, position, length);
+                offsets[row] = position;
+                position += length;
+            }
+        }
+        arena = target;
+        used = position;
+    }
+}
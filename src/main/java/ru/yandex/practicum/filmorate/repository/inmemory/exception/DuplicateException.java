@@ -0,0 +1,7 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.exception;
+
+public class DuplicateException extends RuntimeException {
+    public DuplicateException(String mess) {
+        super(mess);
+    }
+}
@@ -0,0 +1,11 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.exception;
+
+public class StorageException extends RuntimeException {
+    public StorageException(String mess) {
+        super(mess);
+    }
+
+    public StorageException(String mess, Throwable cause) {
+        super(mess, cause);
+    }
+}
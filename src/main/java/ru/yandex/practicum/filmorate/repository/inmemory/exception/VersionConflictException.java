@@ -0,0 +1,7 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.exception;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String mess) {
+        super(mess);
+    }
+}
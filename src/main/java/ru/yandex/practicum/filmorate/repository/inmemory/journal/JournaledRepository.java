@@ -0,0 +1,264 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.DelegatingRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.StorageException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Makes any storage engine durable: reads stay on the in-memory delegate, every mutation is applied
+ * to it and appended to the {@link WriteAheadLog} under one lock so the log order matches memory.
+ * The caller then waits for the group commit outside that lock. If the append or the sync fails,
+ * the change is rolled back in memory, so a write the caller saw fail never stays visible. On construction the delegate
+ * is rebuilt from the last snapshot plus the log tail.
+ */
+@Slf4j
+public class JournaledRepository<T extends BaseUnit> extends DelegatingRepository<T> {
+    private final WriteAheadLog writeAheadLog;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final long snapshotEvery;
+    private final Object journalLock = new Object();
+    private final AtomicLong recordsSinceSnapshot = new AtomicLong();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor;
+    private volatile RuntimeException failure;
+
+    public JournaledRepository(InMemoryRepository<T> delegate, WriteAheadLog writeAheadLog,
+                               ObjectMapper objectMapper, Class<T> type, long snapshotEvery) {
+        super(delegate);
+        this.writeAheadLog = writeAheadLog;
+        this.writer = objectMapper.writerFor(type);
+        this.reader = objectMapper.readerFor(type);
+        this.snapshotEvery = snapshotEvery;
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-snapshot-" + type.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        recover();
+    }
+
+    private void recover() {
+        long started = System.nanoTime();
+        AtomicLong records = new AtomicLong();
+
+        try {
+            writeAheadLog.recover(new WriteAheadLog.RecordHandler() {
+                @Override
+                public void onSave(byte[] payload) throws IOException {
+                    delegate.save(reader.readValue(payload));
+                    records.incrementAndGet();
+                }
+
+                @Override
+                public void onDelete(long id) {
+                    delegate.deleteById(id);
+                    records.incrementAndGet();
+                }
+            });
+        } catch (IOException e) {
+            throw new StorageException("Can not recover journal", e);
+        }
+        log.info("Journal replayed {} records in {} ms", records.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public T save(T baseUnit) {
+        long position;
+        Runnable rollback;
+        synchronized (journalLock) {
+            checkWritable();
+            T previous = baseUnit.getId() == null ? null : delegate.getById(baseUnit.getId());
+            delegate.save(baseUnit);
+            rollback = () -> restore(baseUnit.getId(), previous);
+            position = append(List.of(serialize(baseUnit, rollback)), rollback);
+        }
+        afterAppend(position, 1, rollback);
+        return baseUnit;
+    }
+
+    @Override
+    public List<T> saveAll(List<T> baseUnits) {
+        long position;
+        Runnable rollback;
+        synchronized (journalLock) {
+            checkWritable();
+            List<T> previous = new ArrayList<>(baseUnits.size());
+            for (T baseUnit : baseUnits) {
+                previous.add(baseUnit.getId() == null ? null : delegate.getById(baseUnit.getId()));
+            }
+            delegate.saveAll(baseUnits);
+            rollback = () -> {
+                for (int i = baseUnits.size() - 1; i >= 0; i--) {
+                    restore(baseUnits.get(i).getId(), previous.get(i));
+                }
+            };
+
+            List<byte[]> payloads = new ArrayList<>(baseUnits.size());
+            for (T baseUnit : baseUnits) {
+                payloads.add(serialize(baseUnit, rollback));
+            }
+            position = append(payloads, rollback);
+        }
+        afterAppend(position, baseUnits.size(), rollback);
+        return baseUnits;
+    }
+
+    @Override
+    public T update(T baseUnit, Long expectedVersion) {
+        T updated;
+        long position;
+        Runnable rollback;
+        synchronized (journalLock) {
+            checkWritable();
+            T previous = delegate.getById(baseUnit.getId());
+            updated = delegate.update(baseUnit, expectedVersion);
+            if (updated == null) {
+                return null;
+            }
+            rollback = () -> restore(baseUnit.getId(), previous);
+            position = append(List.of(serialize(updated, rollback)), rollback);
+        }
+        afterAppend(position, 1, rollback);
+        return updated;
+    }
+
+    @Override
+    public void deleteById(long id) {
+        long position;
+        Runnable rollback;
+        synchronized (journalLock) {
+            checkWritable();
+            T previous = delegate.getById(id);
+            delegate.deleteById(id);
+            rollback = () -> restore(id, previous);
+            try {
+                position = writeAheadLog.appendDelete(id);
+            } catch (RuntimeException e) {
+                throw fail(e, rollback);
+            }
+        }
+        afterAppend(position, 1, rollback);
+    }
+
+    public void snapshot() {
+        try {
+            recordsSinceSnapshot.set(0);
+            Iterator<T> records = delegate.iterator();
+            writeAheadLog.snapshot(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return records.hasNext();
+                }
+
+                @Override
+                public byte[] next() {
+                    return serialize(records.next());
+                }
+            });
+        } catch (IOException e) {
+            log.error("Journal snapshot failed", e);
+        } finally {
+            snapshotRunning.set(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeAheadLog.close();
+        super.close();
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new StorageException("Journal is read-only after a failed write", failure);
+        }
+    }
+
+    private void restore(long id, T previous) {
+        if (previous == null) {
+            delegate.deleteById(id);
+        } else {
+            delegate.save(previous);
+        }
+    }
+
+    private long append(List<byte[]> payloads, Runnable rollback) {
+        long position = 0;
+        try {
+            for (byte[] payload : payloads) {
+                position = writeAheadLog.appendSave(payload);
+            }
+        } catch (RuntimeException e) {
+            throw fail(e, rollback);
+        }
+        return position;
+    }
+
+    /**
+     * A failed append or sync leaves the log tail unknown, so the change is taken back out of memory
+     * and the journal stops accepting writes instead of appending after a possibly torn record.
+     */
+    private StorageException fail(RuntimeException cause, Runnable rollback) {
+        synchronized (journalLock) {
+            if (failure == null) {
+                failure = cause;
+            }
+            rollback.run();
+        }
+        log.error("Journal write failed, rejecting further writes", cause);
+        return new StorageException("Can not write journal", cause);
+    }
+
+    private void afterAppend(long position, int records, Runnable rollback) {
+        try {
+            writeAheadLog.awaitDurable(position);
+        } catch (RuntimeException e) {
+            throw fail(e, rollback);
+        }
+
+        if (recordsSinceSnapshot.addAndGet(records) >= snapshotEvery && snapshotRunning.compareAndSet(false, true)) {
+            snapshotExecutor.execute(this::snapshot);
+        }
+    }
+
+    private byte[] serialize(T baseUnit) {
+        try {
+            return writer.writeValueAsBytes(baseUnit);
+        } catch (JsonProcessingException e) {
+            throw new StorageException("Can not serialize record with id =" + baseUnit.getId(), e);
+        }
+    }
+
+    private byte[] serialize(T baseUnit, Runnable rollback) {
+        try {
+            return serialize(baseUnit);
+        } catch (StorageException e) {
+            rollback.run();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.StorageException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of save/delete records plus a compact snapshot.
+ *
+ * <p>Every record is framed as {@code [length][crc32][op][payload]}, so a torn tail left by a crash
+ * is detected and ignored on replay. Durability uses leader-based group commit: the first writer
+ * waiting for a position forces the channel once for every record appended so far, the writers
+ * queued behind it find their position already durable and return without another fsync.
+ *
+ * <p>A snapshot rotates the log to a new generation first, then writes the live records; replay
+ * applies the snapshot and every log generation from the snapshot's one onwards. Records are
+ * idempotent upserts and deletes by id, so overlap between the snapshot and the log tail is safe.
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+    public static final byte SAVE = 1;
+    public static final byte DELETE = 2;
+
+    private static final int SNAPSHOT_MAGIC = 0x464D5331;
+    private static final int FRAME_HEADER = Integer.BYTES * 2;
+    private static final String LOG_SUFFIX = ".log";
+
+    private final Path directory;
+    private final String name;
+    private final boolean fsync;
+    private final Object writeLock = new Object();
+    private final Object flushLock = new Object();
+
+    private FileChannel channel;
+    private long generation;
+    private long writtenPosition;
+    private long durablePosition;
+
+    public WriteAheadLog(Path directory, String name, boolean fsync) {
+        this.directory = directory;
+        this.name = name;
+        this.fsync = fsync;
+    }
+
+    public interface RecordHandler {
+        void onSave(byte[] payload) throws IOException;
+
+        void onDelete(long id);
+    }
+
+    public void recover(RecordHandler handler) throws IOException {
+        Files.createDirectories(directory);
+        long snapshotGeneration = 0;
+        Path snapshot = snapshotPath();
+
+        if (Files.exists(snapshot)) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+                if (input.readInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("Not a snapshot file: " + snapshot);
+                }
+                snapshotGeneration = input.readLong();
+                replay(input, handler, snapshot);
+            }
+        }
+
+        long lastGeneration = snapshotGeneration;
+        for (long logGeneration : listGenerations()) {
+            if (logGeneration >= snapshotGeneration) {
+                try (DataInputStream input = new DataInputStream(
+                        new BufferedInputStream(Files.newInputStream(logPath(logGeneration))))) {
+                    replay(input, handler, logPath(logGeneration));
+                }
+            }
+            lastGeneration = Math.max(lastGeneration, logGeneration);
+        }
+
+        synchronized (writeLock) {
+            generation = lastGeneration + 1;
+            channel = openLog(generation);
+        }
+    }
+
+    public long appendSave(byte[] payload) {
+        return append(SAVE, payload);
+    }
+
+    public long appendDelete(long id) {
+        return append(DELETE, ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    public void awaitDurable(long position) {
+        if (!fsync) {
+            return;
+        }
+
+        synchronized (flushLock) {
+            if (durablePosition >= position) {
+                return;
+            }
+
+            long target;
+            FileChannel current;
+            synchronized (writeLock) {
+                target = writtenPosition;
+                current = openChannel();
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can not sync journal " + name, e);
+            }
+            durablePosition = target;
+        }
+    }
+
+    public void snapshot(Iterator<byte[]> payloads) throws IOException {
+        long snapshotGeneration = rotate();
+        Path temporary = directory.resolve(name + ".snapshot.tmp");
+
+        try (FileChannel snapshotChannel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream output = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(snapshotChannel), 1 << 16))) {
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeLong(snapshotGeneration);
+            while (payloads.hasNext()) {
+                output.write(frame(SAVE, payloads.next()).array());
+            }
+            output.flush();
+            snapshotChannel.force(false);
+        }
+        Files.move(temporary, snapshotPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (long logGeneration : listGenerations()) {
+            if (logGeneration < snapshotGeneration) {
+                Files.deleteIfExists(logPath(logGeneration));
+            }
+        }
+        log.info("Journal {} snapshot written at generation {}", name, snapshotGeneration);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (flushLock) {
+            synchronized (writeLock) {
+                if (channel != null) {
+                    channel.force(false);
+                    channel.close();
+                    durablePosition = writtenPosition;
+                    channel = null;
+                }
+            }
+        }
+    }
+
+    private long append(byte op, byte[] payload) {
+        ByteBuffer buffer = frame(op, payload);
+
+        synchronized (writeLock) {
+            FileChannel current = openChannel();
+            try {
+                while (buffer.hasRemaining()) {
+                    current.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can not append to journal " + name, e);
+            }
+            writtenPosition += buffer.limit();
+            return writtenPosition;
+        }
+    }
+
+    private FileChannel openChannel() {
+        if (channel == null) {
+            throw new StorageException("Journal " + name + " is closed");
+        }
+        return channel;
+    }
+
+    private long rotate() throws IOException {
+        synchronized (flushLock) {
+            synchronized (writeLock) {
+                openChannel().force(false);
+                channel.close();
+                durablePosition = writtenPosition;
+                generation++;
+                channel = openLog(generation);
+                return generation;
+            }
+        }
+    }
+
+    private static ByteBuffer frame(byte op, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(op);
+        crc.update(payload);
+
+        ByteBuffer buffer = ByteBuffer.allocate(FRAME_HEADER + 1 + payload.length);
+        buffer.putInt(payload.length + 1)
+                .putInt((int) crc.getValue())
+                .put(op)
+                .put(payload)
+                .flip();
+        return buffer;
+    }
+
+    private static void replay(DataInputStream input, RecordHandler handler, Path file) throws IOException {
+        CRC32 crc = new CRC32();
+
+        while (true) {
+            int length;
+            int checksum;
+            byte[] record;
+            try {
+                length = input.readInt();
+                checksum = input.readInt();
+                if (length <= 0) {
+                    log.warn("Corrupted record in {}, ignoring the tail", file);
+                    return;
+                }
+                record = input.readNBytes(length);
+            } catch (EOFException e) {
+                return;
+            }
+
+            crc.reset();
+            crc.update(record);
+            if (record.length < length || (int) crc.getValue() != checksum) {
+                log.warn("Torn record in {}, ignoring the tail", file);
+                return;
+            }
+
+            byte[] payload = new byte[record.length - 1];
+            System.arraycopy(record, 1, payload, 0, payload.length);
+            if (record[0] == SAVE) {
+                handler.onSave(payload);
+            } else if (record[0] == DELETE) {
+                handler.onDelete(ByteBuffer.wrap(payload).getLong());
+            }
+        }
+    }
+
+    private FileChannel openLog(long logGeneration) throws IOException {
+        return FileChannel.open(logPath(logGeneration), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private List<Long> listGenerations() throws IOException {
+        String prefix = name + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(file -> file.startsWith(prefix) && file.endsWith(LOG_SUFFIX))
+                    .map(file -> Long.parseLong(file.substring(prefix.length(), file.length() - LOG_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private Path logPath(long logGeneration) {
+        return directory.resolve(String.format("%s-%020d%s", name, logGeneration, LOG_SUFFIX));
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve(name + ".snapshot");
+    }
+}
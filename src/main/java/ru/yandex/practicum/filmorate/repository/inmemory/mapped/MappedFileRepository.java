@@ -0,0 +1,406 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.mapped;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.extern.slf4j.Slf4j;
+import ru.yandex.practicum.filmorate.model.BaseUnit;
+import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.StorageException;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.VersionConflictException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps records as serialized JSON in memory-mapped segment files, so the heap holds neither
+ * the records nor the id index. Writes append a new copy of the record to the active segment and
+ * repoint its index slot; a sealed segment whose live bytes drop below half is compacted by copying
+ * the remaining records forward and deleting the file. Reads parse straight from the mapped bytes.
+ *
+ * <p>Segments are scratch space recreated on every start, durability is the journal's job. Closing
+ * the repository deletes the segment files and their directory; any later call fails with a
+ * {@link StorageException}. Ids start at 1, the index has no room for zero or negative ones.
+ */
+@Slf4j
+public class MappedFileRepository<T extends BaseUnit> implements InMemoryRepository<T>, Closeable {
+    private static final int MAX_PREALLOCATED_PAGE = 1024;
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final Path directory;
+    private final String name;
+    private final int segmentSize;
+    private final OffHeapIndex index = new OffHeapIndex();
+    private final ConcurrentMap<Integer, Segment> segments = new ConcurrentHashMap<>();
+    private final Object appendLock = new Object();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private final AtomicLong idValue = new AtomicLong();
+    private final AtomicLong modificationVersion = new AtomicLong();
+    private final AtomicLong size = new AtomicLong();
+
+    private volatile Segment active;
+    private volatile boolean closed;
+    private int nextSegment;
+
+    public MappedFileRepository(Path baseDirectory, String name, int segmentSize, ObjectMapper objectMapper,
+                                Class<T> type) {
+        this.writer = objectMapper.writerFor(type);
+        this.reader = objectMapper.readerFor(type);
+        this.name = name;
+        this.segmentSize = segmentSize;
+
+        try {
+            Files.createDirectories(baseDirectory);
+            this.directory = Files.createTempDirectory(baseDirectory, name + "-");
+        } catch (IOException e) {
+            throw new StorageException("Can not create segment directory in " + baseDirectory, e);
+        }
+        synchronized (appendLock) {
+            roll();
+        }
+        log.info("Mapped segments for {} in {}", name, directory);
+    }
+
+    private static long location(Segment segment, int offset) {
+        return ((long) segment.number() << Integer.SIZE) | offset;
+    }
+
+    private static int segmentNumber(long location) {
+        return (int) (location >>> Integer.SIZE);
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+
+    @Override
+    public T getById(long id) {
+        checkOpen();
+        ByteBuffer chunk = index.chunk(id);
+        if (chunk == null) {
+            return null;
+        }
+
+        long version;
+        ByteBuffer payload;
+        synchronized (chunk) {
+            version = OffHeapIndex.version(chunk, id);
+            if (version == 0) {
+                return null;
+            }
+            long location = OffHeapIndex.location(chunk, id);
+            payload = segments.get(segmentNumber(location)).payload(offset(location), OffHeapIndex.length(chunk, id));
+        }
+
+        T baseUnit = deserialize(payload, id);
+        baseUnit.setId(id);
+        baseUnit.setVersion(version);
+        return baseUnit;
+    }
+
+    @Override
+    public List<T> getAll() {
+        List<T> all = new ArrayList<>((int) Math.min(size.get(), Integer.MAX_VALUE));
+        iterator().forEachRemaining(all::add);
+        return all;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(1);
+    }
+
+    private Iterator<T> iterator(long firstId) {
+        checkOpen();
+        Iterator<Long> ids = index.ids(firstId);
+
+        return new Iterator<>() {
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && ids.hasNext()) {
+                    next = getById(ids.next());
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public List<T> getPage(long offset, int limit) {
+        checkOpen();
+        long firstId = index.idAtOffset(offset);
+        return firstId < 0 ? new ArrayList<>() : copyPage(iterator(firstId), limit);
+    }
+
+    @Override
+    public List<T> getPageAfter(long afterId, int limit) {
+        return afterId == Long.MAX_VALUE ? new ArrayList<>() : copyPage(iterator(Math.max(afterId + 1, 1)), limit);
+    }
+
+    private List<T> copyPage(Iterator<T> iterator, int limit) {
+        List<T> page = new ArrayList<>(Math.min(limit, MAX_PREALLOCATED_PAGE));
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    private T put(T baseUnit, boolean insert, Long expectedVersion) {
+        checkOpen();
+        long id = baseUnit.getId();
+        byte[] payload = serialize(baseUnit);
+        ByteBuffer chunk = insert ? index.createChunk(id) : index.chunk(id);
+        if (chunk == null) {
+            return null;
+        }
+
+        long version;
+        synchronized (chunk) {
+            long current = OffHeapIndex.version(chunk, id);
+            if (!insert && current == 0) {
+                return null;
+            }
+            if (expectedVersion != null && current != expectedVersion) {
+                throw new VersionConflictException("Version mismatch for id =" + id + ": expected " + expectedVersion
+                        + ", actual " + current);
+            }
+
+            long location = append(id, payload);
+            if (current != 0) {
+                release(chunk, id);
+            }
+            version = current + 1;
+            OffHeapIndex.set(chunk, id, version, location, payload.length);
+        }
+
+        baseUnit.setVersion(version);
+        if (version == 1) {
+            size.incrementAndGet();
+        }
+        modificationVersion.incrementAndGet();
+        compactIfNeeded();
+        return baseUnit;
+    }
+
+    @Override
+    public T save(T baseUnit) {
+        checkId(baseUnit);
+        if (baseUnit.getId() == null) {
+            baseUnit.setId(idValue.incrementAndGet());
+        } else {
+            idValue.accumulateAndGet(baseUnit.getId(), Math::max);
+        }
+
+        return put(baseUnit, true, null);
+    }
+
+    @Override
+    public List<T> saveAll(List<T> baseUnits) {
+        baseUnits.forEach(this::checkId);
+        long newUnits = baseUnits.stream()
+                .filter(baseUnit -> baseUnit.getId() == null)
+                .count();
+        long nextId = idValue.getAndAdd(newUnits) + 1;
+
+        for (T baseUnit : baseUnits) {
+            if (baseUnit.getId() == null) {
+                baseUnit.setId(nextId++);
+            } else {
+                idValue.accumulateAndGet(baseUnit.getId(), Math::max);
+            }
+
+            put(baseUnit, true, null);
+        }
+        return baseUnits;
+    }
+
+    @Override
+    public T update(T baseUnit, Long expectedVersion) {
+        return put(baseUnit, false, expectedVersion);
+    }
+
+    @Override
+    public void deleteById(long id) {
+        checkOpen();
+        ByteBuffer chunk = index.chunk(id);
+        if (chunk == null) {
+            return;
+        }
+
+        synchronized (chunk) {
+            if (OffHeapIndex.version(chunk, id) == 0) {
+                return;
+            }
+            release(chunk, id);
+            OffHeapIndex.set(chunk, id, 0, 0, 0);
+        }
+        size.decrementAndGet();
+        modificationVersion.incrementAndGet();
+        compactIfNeeded();
+    }
+
+    @Override
+    public long getModificationVersion() {
+        return modificationVersion.get();
+    }
+
+    @Override
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Drops every segment and deletes the scratch files; the mappings themselves are released once
+     * the buffers are collected.
+     */
+    @Override
+    public void close() throws IOException {
+        compactionLock.lock();
+        try {
+            synchronized (appendLock) {
+                closed = true;
+                for (Segment segment : segments.values()) {
+                    segment.delete();
+                }
+                segments.clear();
+                active = null;
+                Files.deleteIfExists(directory);
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+        log.info("Mapped segments for {} deleted from {}", name, directory);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new StorageException("Mapped storage " + name + " is closed");
+        }
+    }
+
+    private void checkId(T baseUnit) {
+        if (baseUnit.getId() != null && baseUnit.getId() < 1) {
+            throw new IllegalArgumentException("Mapped storage " + name + " supports ids from 1, got id ="
+                    + baseUnit.getId());
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    private long append(long id, byte[] payload) {
+        synchronized (appendLock) {
+            int offset = active.append(id, payload);
+            if (offset < 0) {
+                roll();
+                offset = active.append(id, payload);
+            }
+            if (offset < 0) {
+                throw new StorageException("Record with id =" + id + " of " + payload.length
+                        + " bytes does not fit into a segment of " + segmentSize + " bytes");
+            }
+            return location(active, offset);
+        }
+    }
+
+    private void roll() {
+        try {
+            active = Segment.create(directory, name, nextSegment++, segmentSize);
+            segments.put(active.number(), active);
+        } catch (IOException e) {
+            throw new StorageException("Can not create segment in " + directory, e);
+        }
+    }
+
+    private void release(ByteBuffer chunk, long id) {
+        segments.get(segmentNumber(OffHeapIndex.location(chunk, id))).release(OffHeapIndex.length(chunk, id));
+    }
+
+    private void compactIfNeeded() {
+        if (!compactionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            for (Segment segment : segments.values()) {
+                if (segment != active && segment.liveBytes() * 2 < segment.used()) {
+                    compact(segment);
+                }
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private void compact(Segment segment) {
+        int offset = 0;
+        int moved = 0;
+
+        while (offset < segment.used()) {
+            long id = segment.idAt(offset);
+            int length = segment.lengthAt(offset);
+            ByteBuffer chunk = index.chunk(id);
+
+            if (chunk != null) {
+                synchronized (chunk) {
+                    if (OffHeapIndex.version(chunk, id) != 0
+                            && OffHeapIndex.location(chunk, id) == location(segment, offset)) {
+                        byte[] payload = new byte[length];
+                        segment.payload(offset, length).get(payload);
+                        OffHeapIndex.set(chunk, id, OffHeapIndex.version(chunk, id), append(id, payload), length);
+                        segment.release(length);
+                        moved++;
+                    }
+                }
+            }
+            offset += Segment.HEADER + length;
+        }
+
+        segments.remove(segment.number());
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            log.warn("Can not delete compacted segment {} of {}", segment.number(), name, e);
+        }
+        log.debug("Compacted segment {} of {}: moved {} records", segment.number(), name, moved);
+    }
+
+    private byte[] serialize(T baseUnit) {
+        try {
+            return writer.writeValueAsBytes(baseUnit);
+        } catch (IOException e) {
+            throw new StorageException("Can not serialize record with id =" + baseUnit.getId(), e);
+        }
+    }
+
+    private T deserialize(ByteBuffer payload, long id) {
+        try {
+            return reader.readValue(new ByteBufferBackedInputStream(payload));
+        } catch (IOException e) {
+            throw new StorageException("Can not read record with id =" + id, e);
+        }
+    }
+}
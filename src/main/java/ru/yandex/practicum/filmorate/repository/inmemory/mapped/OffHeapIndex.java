@@ -0,0 +1,113 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.mapped;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Id to record location map kept in direct buffers: the id picks a fixed slot
+ * {@code [version][location][length]} inside a chunk, version 0 marks a free slot. A chunk buffer
+ * is also the monitor that guards its slots.
+ */
+final class OffHeapIndex {
+    private static final int CHUNK_SLOTS = 4096;
+    private static final int CHUNK_BITS = Integer.numberOfTrailingZeros(CHUNK_SLOTS);
+    private static final int SLOT_BYTES = Long.BYTES * 3;
+
+    private final ConcurrentNavigableMap<Long, ByteBuffer> chunks = new ConcurrentSkipListMap<>();
+
+    ByteBuffer chunk(long id) {
+        return chunks.get(id >> CHUNK_BITS);
+    }
+
+    ByteBuffer createChunk(long id) {
+        return chunks.computeIfAbsent(id >> CHUNK_BITS,
+                index -> ByteBuffer.allocateDirect(CHUNK_SLOTS * SLOT_BYTES));
+    }
+
+    static long version(ByteBuffer chunk, long id) {
+        return chunk.getLong(slot(id));
+    }
+
+    static long location(ByteBuffer chunk, long id) {
+        return chunk.getLong(slot(id) + Long.BYTES);
+    }
+
+    static int length(ByteBuffer chunk, long id) {
+        return (int) chunk.getLong(slot(id) + Long.BYTES * 2);
+    }
+
+    static void set(ByteBuffer chunk, long id, long version, long location, int length) {
+        int slot = slot(id);
+        chunk.putLong(slot, version);
+        chunk.putLong(slot + Long.BYTES, location);
+        chunk.putLong(slot + Long.BYTES * 2, length);
+    }
+
+    private static int slot(long id) {
+        return (int) (id & (CHUNK_SLOTS - 1)) * SLOT_BYTES;
+    }
+
+    long idAtOffset(long offset) {
+        long skipped = 0;
+
+        for (Map.Entry<Long, ByteBuffer> entry : chunks.entrySet()) {
+            ByteBuffer chunk = entry.getValue();
+            synchronized (chunk) {
+                for (long id = entry.getKey() << CHUNK_BITS; id < (entry.getKey() + 1) << CHUNK_BITS; id++) {
+                    if (version(chunk, id) != 0 && skipped++ == offset) {
+                        return id;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    Iterator<Long> ids(long firstId) {
+        Iterator<Map.Entry<Long, ByteBuffer>> chunkIterator = chunks.tailMap(firstId >> CHUNK_BITS, true)
+                .entrySet().iterator();
+
+        return new Iterator<>() {
+            private ByteBuffer chunk;
+            private long id;
+            private long end;
+            private long next = -1;
+
+            @Override
+            public boolean hasNext() {
+                while (next < 0) {
+                    if (chunk == null || id == end) {
+                        if (!chunkIterator.hasNext()) {
+                            return false;
+                        }
+                        Map.Entry<Long, ByteBuffer> entry = chunkIterator.next();
+                        chunk = entry.getValue();
+                        id = Math.max(entry.getKey() << CHUNK_BITS, firstId);
+                        end = (entry.getKey() + 1) << CHUNK_BITS;
+                    }
+                    synchronized (chunk) {
+                        if (version(chunk, id) != 0) {
+                            next = id;
+                        }
+                    }
+                    id++;
+                }
+                return true;
+            }
+
+            @Override
+            public Long next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long result = next;
+                next = -1;
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.mapped;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One mapped file of append-only records framed as {@code [id][length][payload]}. Bytes are never
+ * overwritten, so a buffer handed to a reader stays valid even after the segment is compacted away.
+ */
+final class Segment {
+    static final int HEADER = Long.BYTES + Integer.BYTES;
+
+    private final int number;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final AtomicLong liveBytes = new AtomicLong();
+    private int used;
+
+    private Segment(int number, Path file, MappedByteBuffer buffer) {
+        this.number = number;
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    static Segment create(Path directory, String name, int number, int capacity) throws IOException {
+        Path file = directory.resolve(name + "-" + number + ".seg");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new Segment(number, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    int number() {
+        return number;
+    }
+
+    int used() {
+        return used;
+    }
+
+    long liveBytes() {
+        return liveBytes.get();
+    }
+
+    int append(long id, byte[] payload) {
+        int frame = HEADER + payload.length;
+        if (used + frame > buffer.capacity()) {
+            return -1;
+        }
+
+        int offset = used;
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.putLong(id).putInt(payload.length).put(payload);
+        used += frame;
+        liveBytes.addAndGet(frame);
+        return offset;
+    }
+
+    void release(int length) {
+        liveBytes.addAndGet(-(HEADER + length));
+    }
+
+    long idAt(int offset) {
+        return buffer.getLong(offset);
+    }
+
+    int lengthAt(int offset) {
+        return buffer.getInt(offset + Long.BYTES);
+    }
+
+    ByteBuffer payload(int offset, int length) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(offset + HEADER);
+        payload.limit(offset + HEADER + length);
+        return payload;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.yandex.practicum.filmorate.service;
+
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.model.EventPage;
+import ru.yandex.practicum.filmorate.repository.inmemory.ChangeEventRing;
+
+import javax.annotation.PreDestroy;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Change feed over the event ring. Writers only flag that something was published; one notifier
+ * thread then offers the news to every waiting subscriber, so consumers never run on a writer.
+ */
+@Service
+public class EventService {
+    private final ChangeEventRing ring;
+    private final Queue<EventSubscriber> subscribers = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private final ExecutorService notifier;
+
+    public EventService(ChangeEventRing ring) {
+        this.ring = ring;
+        this.notifier = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-feed-notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ring.onPublish(this::onPublish);
+    }
+
+    /**
+     * Waits for events on behalf of a consumer; {@link #onPublish()} returns {@code true} once
+     * the subscriber is done and must be dropped.
+     */
+    public interface EventSubscriber {
+        boolean onPublish();
+    }
+
+    public EventPage getEvents(long after, int limit) {
+        return ring.read(after, limit);
+    }
+
+    public long getLastSequence() {
+        return ring.lastSequence();
+    }
+
+    public void subscribe(EventSubscriber subscriber) {
+        subscribers.add(subscriber);
+        scheduleWake();
+    }
+
+    public void unsubscribe(EventSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    private void onPublish() {
+        if (!subscribers.isEmpty()) {
+            scheduleWake();
+        }
+    }
+
+    private void scheduleWake() {
+        if (wakeScheduled.compareAndSet(false, true)) {
+            notifier.execute(this::wake);
+        }
+    }
+
+    private void wake() {
+        wakeScheduled.set(false);
+        subscribers.removeIf(EventSubscriber::onPublish);
+    }
+}
@@ -2,17 +2,41 @@ package ru.yandex.practicum.filmorate.service;
 
 import org.springframework.stereotype.Service;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.repository.FilmRepository;
 import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
-import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.LikeRepository;
 import ru.yandex.practicum.filmorate.repository.inmemory.exception.NotFoundException;
-import java.util.List;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class FilmService {
-    private final InMemoryRepository filmRepository;
+    private final FilmRepository filmRepository;
+    private final InMemoryRepository<User> userRepository;
+    private final LikeRepository likeRepository;
 
-    public FilmService() {
-        filmRepository = new InMemoryBaseRepository<Film>();
+    public FilmService(FilmRepository filmRepository, InMemoryRepository<User> userRepository,
+                       LikeRepository likeRepository) {
+        this.filmRepository = filmRepository;
+        this.userRepository = userRepository;
+        this.likeRepository = likeRepository;
+    }
+
+    private Film getExistingFilm(long id) {
+        Film film = filmRepository.getById(id);
+
+        if (film == null) {
+            throw new NotFoundException("Not found with id =" + id);
+        }
+        return film;
+    }
+
+    private void checkUserExists(long id) {
+        if (userRepository.getById(id) == null) {
+            throw new NotFoundException("Not found with id =" + id);
+        }
     }
 
     public Film addFilm(Film film) {
@@ -20,20 +44,118 @@ public class FilmService {
         return film;
     }
 
-    public Film updateFilm(Film film) {
-        Film oldFilm = (Film) filmRepository.getById(film.getId());
+    public List<Film> addFilms(List<Film> films) {
+        return filmRepository.saveAll(films);
+    }
+
+    public Film getFilm(long id) {
+        return getExistingFilm(id);
+    }
 
-        if (oldFilm == null) {
+    public Film updateFilm(Film film, Long expectedVersion) {
+        Film updatedFilm = filmRepository.update(film, expectedVersion);
+
+        if (updatedFilm == null) {
             throw new NotFoundException("Not found with id =" + film.getId());
         }
+        return updatedFilm;
+    }
 
-        filmRepository.deleteById(film.getId());
-        filmRepository.save(film);
-
-        return (Film) filmRepository.save(film);
+    public List<Film> updateFilms(List<Film> films) {
+        return films.stream()
+                .map(film -> filmRepository.update(film, null))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     public List<Film> getAllFilms() {
         return filmRepository.getAll();
     }
+
+    public long getModificationVersion() {
+        return filmRepository.getModificationVersion();
+    }
+
+    public Iterator<Film> iterateFilms() {
+        return filmRepository.iterator();
+    }
+
+    public List<Film> getFilmsPage(long offset, int limit) {
+        return filmRepository.getPage(offset, limit);
+    }
+
+    public List<Film> getFilmsAfter(long afterId, int limit) {
+        return filmRepository.getPageAfter(afterId, limit);
+    }
+
+    public List<Film> findFilms(LocalDate releasedFrom, LocalDate releasedTo, Integer minDuration,
+                                Integer maxDuration, long offset, int limit) {
+        Iterator<Film> candidates = Ranges.isRequested(releasedFrom, releasedTo)
+                ? filmRepository.iterateByReleaseDate(releasedFrom, releasedTo)
+                : filmRepository.iterateByDuration(minDuration, maxDuration);
+
+        return Ranges.stream(candidates)
+                .filter(film -> Ranges.isInRange(film.getReleaseDate(), releasedFrom, releasedTo)
+                        && Ranges.isInRange(film.getDuration(), minDuration, maxDuration))
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public List<Film> searchFilms(String query, int limit) {
+        return filmRepository.search(query, limit);
+    }
+
+    public void addLike(long filmId, long userId) {
+        getExistingFilm(filmId);
+        checkUserExists(userId);
+        likeRepository.addLike(filmId, userId);
+    }
+
+    public void removeLike(long filmId, long userId) {
+        getExistingFilm(filmId);
+        checkUserExists(userId);
+        likeRepository.removeLike(filmId, userId);
+    }
+
+    public List<Film> getRecommendations(long userId, int count) {
+        checkUserExists(userId);
+        List<Film> films = new ArrayList<>(count);
+
+        for (Long filmId : likeRepository.getRecommendedFilmIds(userId, count)) {
+            Film film = filmRepository.getById(filmId);
+            if (film != null) {
+                films.add(film);
+            }
+        }
+        return films;
+    }
+
+    public List<Film> getPopularFilms(int count) {
+        List<Film> popularFilms = new ArrayList<>(count);
+        Set<Long> popularIds = new HashSet<>();
+
+        for (Long filmId : likeRepository.getPopularFilmIds(count)) {
+            Film film = filmRepository.getById(filmId);
+            if (film != null) {
+                popularFilms.add(film);
+                popularIds.add(filmId);
+            }
+        }
+
+        long afterId = 0;
+        while (popularFilms.size() < count) {
+            List<Film> page = filmRepository.getPageAfter(afterId, count);
+            if (page.isEmpty()) {
+                break;
+            }
+            for (Film film : page) {
+                if (popularFilms.size() < count && !popularIds.contains(film.getId())) {
+                    popularFilms.add(film);
+                }
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        return popularFilms;
+    }
 }
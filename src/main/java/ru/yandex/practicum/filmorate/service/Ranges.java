@@ -0,0 +1,27 @@
+package ru.yandex.practicum.filmorate.service;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class Ranges {
+    private Ranges() {
+    }
+
+    static boolean isRequested(Object from, Object to) {
+        return from != null || to != null;
+    }
+
+    static <C extends Comparable<? super C>> boolean isInRange(C value, C from, C to) {
+        if (value == null) {
+            return !isRequested(from, to);
+        }
+        return (from == null || value.compareTo(from) >= 0) && (to == null || value.compareTo(to) <= 0);
+    }
+
+    static <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+}
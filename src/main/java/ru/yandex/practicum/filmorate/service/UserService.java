@@ -2,19 +2,50 @@ package ru.yandex.practicum.filmorate.service;
 
 import org.springframework.stereotype.Service;
 import ru.yandex.practicum.filmorate.model.User;
-import ru.yandex.practicum.filmorate.repository.InMemoryRepository;
-import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.FriendRepository;
+import ru.yandex.practicum.filmorate.repository.UserRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.DuplicateException;
 import ru.yandex.practicum.filmorate.repository.inmemory.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.service.exception.ValidationException;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 
 public class UserService {
-    private final InMemoryRepository userRepository;
+    private final UserRepository userRepository;
+    private final FriendRepository friendRepository;
 
-    public UserService() {
-        this.userRepository = new InMemoryBaseRepository<User>();
+    public UserService(UserRepository userRepository, FriendRepository friendRepository) {
+        this.userRepository = userRepository;
+        this.friendRepository = friendRepository;
+    }
+
+    private User getExistingUser(long id) {
+        User user = userRepository.getById(id);
+
+        if (user == null) {
+            throw new NotFoundException("Not found with id =" + id);
+        }
+        return user;
+    }
+
+    private List<User> getUsersByIds(long[] ids) {
+        List<User> users = new ArrayList<>(ids.length);
+
+        for (long id : ids) {
+            User user = userRepository.getById(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
     }
 
     private boolean isNameEmpty(String name) {
@@ -30,24 +61,154 @@ public class UserService {
         return user;
     }
 
-    public User updateUser(User user) {
-        User oldUser = (User) userRepository.getById(user.getId());
+    /**
+     * Saves a batch and returns why each rejected user was not saved, keyed by its position in
+     * {@code users}. New users are claimed together, so a duplicate login or email aborts the bulk
+     * save before anything is written; the users are then saved one by one so that only the
+     * duplicates are rejected.
+     */
+    public Map<Integer, String> addUsers(List<User> users) {
+        for (User user : users) {
+            if (isNameEmpty(user.getName())) {
+                user.setName(user.getLogin());
+            }
+        }
 
-        if (oldUser == null) {
-            throw new NotFoundException("Not found with id =" + user.getId());
+        if (users.stream().allMatch(user -> user.getId() == null) && trySaveAll(users)) {
+            return Map.of();
         }
 
+        Map<Integer, String> rejected = new HashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            try {
+                userRepository.save(users.get(i));
+            } catch (DuplicateException e) {
+                rejected.put(i, e.getMessage());
+            }
+        }
+        return rejected;
+    }
+
+    private boolean trySaveAll(List<User> users) {
+        try {
+            userRepository.saveAll(users);
+            return true;
+        } catch (DuplicateException e) {
+            return false;
+        }
+    }
+
+    public User getUser(long id) {
+        return getExistingUser(id);
+    }
+
+    public User getUserByLogin(String login) {
+        User user = userRepository.findByLogin(login);
+
+        if (user == null) {
+            throw new NotFoundException("Not found with login =" + login);
+        }
+        return user;
+    }
+
+    public User getUserByEmail(String email) {
+        User user = userRepository.findByEmail(email);
+
+        if (user == null) {
+            throw new NotFoundException("Not found with email =" + email);
+        }
+        return user;
+    }
+
+    public User updateUser(User user, Long expectedVersion) {
         if (isNameEmpty(user.getName())) {
             user.setName(user.getLogin());
         }
 
-        userRepository.deleteById(user.getId());
-        userRepository.save(user);
+        User updatedUser = userRepository.update(user, expectedVersion);
 
-        return user;
+        if (updatedUser == null) {
+            throw new NotFoundException("Not found with id =" + user.getId());
+        }
+        return updatedUser;
+    }
+
+    /**
+     * Updates a batch and returns why each rejected user was not updated, keyed by its position in
+     * {@code users}: it does not exist, or its new login or email belongs to another user.
+     */
+    public Map<Integer, String> updateUsers(List<User> users) {
+        Map<Integer, String> rejected = new HashMap<>();
+
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (isNameEmpty(user.getName())) {
+                user.setName(user.getLogin());
+            }
+
+            try {
+                if (userRepository.update(user, null) == null) {
+                    rejected.put(i, "Not found with id =" + user.getId());
+                }
+            } catch (DuplicateException e) {
+                rejected.put(i, e.getMessage());
+            }
+        }
+        return rejected;
     }
 
     public List<User> getAllUsers() {
         return userRepository.getAll();
     }
+
+    public long getModificationVersion() {
+        return userRepository.getModificationVersion();
+    }
+
+    public Iterator<User> iterateUsers() {
+        return userRepository.iterator();
+    }
+
+    public List<User> getUsersPage(long offset, int limit) {
+        return userRepository.getPage(offset, limit);
+    }
+
+    public List<User> getUsersAfter(long afterId, int limit) {
+        return userRepository.getPageAfter(afterId, limit);
+    }
+
+    public List<User> findUsers(LocalDate bornFrom, LocalDate bornTo, long offset, int limit) {
+        return Ranges.stream(userRepository.iterateByBirthday(bornFrom, bornTo))
+                .filter(user -> Ranges.isInRange(user.getBirthday(), bornFrom, bornTo))
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public void addFriend(long userId, long friendId) {
+        if (userId == friendId) {
+            throw new ValidationException("User can not be a friend of himself");
+        }
+
+        getExistingUser(userId);
+        getExistingUser(friendId);
+        friendRepository.addFriend(userId, friendId);
+    }
+
+    public void removeFriend(long userId, long friendId) {
+        getExistingUser(userId);
+        getExistingUser(friendId);
+        friendRepository.removeFriend(userId, friendId);
+    }
+
+    public List<User> getFriends(long userId) {
+        getExistingUser(userId);
+        return getUsersByIds(friendRepository.getFriendIds(userId));
+    }
+
+    public List<User> getCommonFriends(long userId, long otherId) {
+        getExistingUser(userId);
+        getExistingUser(otherId);
+        return getUsersByIds(friendRepository.getCommonFriendIds(userId, otherId));
+    }
 }
@@ -1,4 +1,4 @@
-package ru.yandex.practicum.filmorate.controller.exception;
+package ru.yandex.practicum.filmorate.service.exception;
 
 public class ValidationException extends RuntimeException {
     public ValidationException(String mess) {
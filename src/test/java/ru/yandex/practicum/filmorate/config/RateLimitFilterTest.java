@@ -0,0 +1,118 @@
+package ru.yandex.practicum.filmorate.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private RateLimitProperties createProperties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(3, 0.01));
+        properties.setWrite(new RateLimitProperties.Budget(1, 0.01));
+        properties.setTrustedAddresses(Set.of("127.0.0.1"));
+        return properties;
+    }
+
+    private MockHttpServletResponse perform(RateLimitFilter filter, String method, String client)
+            throws ServletException, IOException {
+        return perform(filter, method, client, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse perform(RateLimitFilter filter, String method, String client,
+                                            FilterChain chain) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/films");
+        request.addHeader("X-Client-Id", client);
+        return perform(filter, request, chain);
+    }
+
+    private MockHttpServletResponse perform(RateLimitFilter filter, MockHttpServletRequest request,
+                                            FilterChain chain) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    public void shouldLimitReadsAndWritesPerClientSeparately() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(createProperties(), new SimpleMeterRegistry());
+
+        assertEquals(200, perform(filter, "POST", "importer").getStatus());
+        MockHttpServletResponse limited = perform(filter, "POST", "importer");
+        assertEquals(429, limited.getStatus());
+        assertEquals("100", limited.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("{\"error\":\"Rate limit exceeded\"}", limited.getContentAsString());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, perform(filter, "GET", "importer").getStatus());
+        }
+        assertEquals(429, perform(filter, "GET", "importer").getStatus());
+        assertEquals(200, perform(filter, "POST", "browser").getStatus());
+    }
+
+    @Test
+    public void shouldShedRequestsBeyondMaxInFlight() throws Exception {
+        RateLimitProperties properties = createProperties();
+        properties.setMaxInFlight(1);
+        RateLimitFilter filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        MockHttpServletResponse outer = perform(filter, "GET", "importer",
+                (request, response) -> nested[0] = perform(filter, "GET", "browser"));
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, perform(filter, "GET", "browser").getStatus());
+    }
+
+    @Test
+    public void shouldFallBackToSharedBudgetWhenClientTableIsFull() throws Exception {
+        RateLimitProperties properties = createProperties();
+        properties.setMaxClients(1);
+        RateLimitFilter filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+
+        assertEquals(200, perform(filter, "POST", "first").getStatus());
+        assertEquals(200, perform(filter, "POST", "second").getStatus());
+        assertEquals(429, perform(filter, "POST", "third").getStatus());
+    }
+
+    @Test
+    public void untrustedCallersShouldBeKeyedByAddress() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(createProperties(), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/films");
+            request.setRemoteAddr("10.0.0.7");
+            request.addHeader("X-Client-Id", "importer-" + i);
+            assertEquals(i == 0 ? 200 : 429, perform(filter, request, new MockFilterChain()).getStatus());
+        }
+        assertEquals(200, perform(filter, "POST", "importer").getStatus());
+    }
+
+    @Test
+    public void asyncRequestShouldStayInFlightUntilCompleted() throws Exception {
+        RateLimitProperties properties = createProperties();
+        properties.setMaxInFlight(1);
+        RateLimitFilter filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+        MockHttpServletRequest streaming = new MockHttpServletRequest("GET", "/films");
+        streaming.setAsyncSupported(true);
+        AsyncContext[] asyncContext = new AsyncContext[1];
+
+        perform(filter, streaming, (request, response) -> asyncContext[0] = request.startAsync());
+
+        assertEquals(503, perform(filter, "GET", "browser").getStatus());
+        asyncContext[0].complete();
+        assertEquals(200, perform(filter, "GET", "browser").getStatus());
+    }
+}
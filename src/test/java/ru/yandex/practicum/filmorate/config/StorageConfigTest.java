@@ -0,0 +1,84 @@
+package ru.yandex.practicum.filmorate.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.repository.FilmRepository;
+import ru.yandex.practicum.filmorate.repository.UserRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.journal.JournaledRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.journal.WriteAheadLog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageConfigTest {
+    @TempDir
+    Path directory;
+
+    private ApplicationContextRunner journaledContext() {
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withUserConfiguration(StorageConfig.class)
+                .withPropertyValues("filmorate.storage.journal.enabled=true",
+                        "filmorate.storage.journal.directory=" + directory,
+                        "filmorate.storage.journal.snapshot-every=1");
+    }
+
+    private static boolean isThreadAlive(String name) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals(name) && thread.isAlive());
+    }
+
+    @Test
+    public void closingContextShouldCloseUserJournal() throws IOException {
+        AtomicReference<ObjectMapper> objectMapper = new AtomicReference<>();
+
+        journaledContext().run(context -> {
+            objectMapper.set(context.getBean(ObjectMapper.class));
+            UserRepository repository = context.getBean(UserRepository.class);
+            repository.save(new User("first@test.com", "first_t", "First", LocalDate.of(2001, 11, 11)));
+            repository.save(new User("second@test.com", "second_t", "Second", LocalDate.of(2001, 11, 11)));
+            assertTrue(isThreadAlive("journal-snapshot-User"));
+        });
+
+        assertFalse(isThreadAlive("journal-snapshot-User"));
+        JournaledRepository<User> replayed = new JournaledRepository<>(new InMemoryBaseRepository<>(),
+                new WriteAheadLog(directory, "users", true), objectMapper.get(), User.class, Long.MAX_VALUE);
+        assertEquals(2, replayed.getAll().size());
+        assertEquals("second_t", replayed.getById(2).getLogin());
+        replayed.close();
+    }
+
+    @Test
+    public void closingContextShouldCloseFilmJournal() throws IOException {
+        AtomicReference<ObjectMapper> objectMapper = new AtomicReference<>();
+
+        journaledContext().run(context -> {
+            objectMapper.set(context.getBean(ObjectMapper.class));
+            FilmRepository repository = context.getBean(FilmRepository.class);
+            repository.save(new Film("First", "First film", LocalDate.of(2000, 1, 1), 100));
+            repository.save(new Film("Second", "Second film", LocalDate.of(2000, 1, 2), 120));
+            assertTrue(isThreadAlive("journal-snapshot-Film"));
+        });
+
+        assertFalse(isThreadAlive("journal-snapshot-Film"));
+        JournaledRepository<Film> replayed = new JournaledRepository<>(new InMemoryBaseRepository<>(),
+                new WriteAheadLog(directory, "films", true), objectMapper.get(), Film.class, Long.MAX_VALUE);
+        assertEquals(2, replayed.getAll().size());
+        assertEquals("Second", replayed.getById(2).getName());
+        replayed.close();
+    }
+}
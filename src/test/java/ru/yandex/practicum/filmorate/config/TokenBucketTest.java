@@ -0,0 +1,37 @@
+package ru.yandex.practicum.filmorate.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void shouldAdmitBurstThenRefillAtRate() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(3, 2, now);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(now));
+        }
+        assertEquals(SECOND / 2, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now + SECOND / 2));
+        assertTrue(bucket.tryAcquire(now + SECOND / 2) > 0);
+        assertFalse(bucket.isFull(now + SECOND));
+        assertTrue(bucket.isFull(now + 2 * SECOND));
+    }
+
+    @Test
+    public void idleBucketShouldNotSaveMoreThanCapacity() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(2, 1, now);
+
+        long later = now + 60 * SECOND;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.yandex.practicum.filmorate.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+    private static final int FIRST_LOOM_RELEASE = 21;
+
+    @Test
+    public void executorShouldRunTasksOnVirtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= FIRST_LOOM_RELEASE);
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor();
+
+        Object virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()))
+                .get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        assertEquals(Boolean.TRUE, virtual);
+    }
+
+    @Test
+    public void olderRuntimeShouldFailWithHint() {
+        assumeTrue(Runtime.version().feature() < FIRST_LOOM_RELEASE);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                VirtualThreads::newThreadPerTaskExecutor);
+
+        assertTrue(exception.getMessage().contains("filmorate.web.execution-mode=platform"));
+    }
+}
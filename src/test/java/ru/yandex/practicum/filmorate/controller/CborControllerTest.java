@@ -0,0 +1,87 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CborControllerTest {
+    private static final LocalDate RELEASE_DATE = LocalDate.of(1999, 3, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Test
+    public void filmShouldRoundTripAsCborWithEpochDayDates() throws Exception {
+        Film film = new Film("Матрица", "Фильм в CBOR", RELEASE_DATE, 136);
+
+        byte[] created = mockMvc.perform(MockMvcRequestBuilders.post("/films")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(film)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode node = cborMapper.readTree(created);
+        assertEquals("Матрица", node.get("name").asText());
+        assertEquals(RELEASE_DATE.toEpochDay(), node.get("releaseDate").asLong());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/films/" + node.get("id").asLong()))
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("releaseDate").value("1999-03-31"));
+    }
+
+    @Test
+    public void cachedListShouldBeServedAsCborWhenPreferred() throws Exception {
+        User user = new User("cbor@test.com", "cbor_user", "Cbor", LocalDate.of(1985, 7, 1));
+        mockMvc.perform(MockMvcRequestBuilders.post("/users")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(user)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        byte[] users = mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(MockMvcResultMatchers.header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode last = null;
+        for (JsonNode node : cborMapper.readTree(users)) {
+            last = node;
+        }
+        assertEquals("cbor_user", last.get("login").asText());
+        assertEquals(LocalDate.of(1985, 7, 1).toEpochDay(), last.get("birthday").asLong());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users"))
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void invalidCborBodyShouldBeRejected() throws Exception {
+        Film film = new Film("", "Фильм в CBOR", RELEASE_DATE, 136);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/films")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(film)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+}
@@ -0,0 +1,7 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "filmorate.storage.engine=columnar")
+class ColumnarUserControllerTest extends UserControllerTest {
+}
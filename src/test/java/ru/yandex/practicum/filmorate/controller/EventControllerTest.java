@@ -0,0 +1,102 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.repository.inmemory.ChangeEventRing;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EventControllerTest {
+    private static final String PATH = "/events";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeEventRing changeEventRing;
+
+    private MvcResult postFilm(String name) throws Exception {
+        Film film = new Film(name, "Фильм для ленты событий", LocalDate.of(2012, 12, 12), 95);
+        return mockMvc.perform(MockMvcRequestBuilders.post("/films")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(film)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+    }
+
+    @Test
+    public void pendingEventsShouldBeReturnedAtOnce() throws Exception {
+        long after = changeEventRing.lastSequence();
+        postFilm("Событие");
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(PATH).param("after", Long.toString(after)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("events.length()").value(1))
+                .andExpect(jsonPath("events[0].entity").value("films"))
+                .andExpect(jsonPath("events[0].type").value("SAVED"))
+                .andExpect(jsonPath("events[0].version").value(1))
+                .andExpect(jsonPath("next").value(after + 1))
+                .andExpect(jsonPath("missed").value(false));
+    }
+
+    @Test
+    public void longPollShouldCompleteOnNextMutation() throws Exception {
+        long after = changeEventRing.lastSequence();
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(PATH).param("after", Long.toString(after)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        User user = new User("events@test.com", "events_user", "Events", LocalDate.of(1990, 1, 1));
+        mockMvc.perform(MockMvcRequestBuilders.post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(user)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        result.getAsyncResult(5_000);
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("events[0].entity").value("users"))
+                .andExpect(jsonPath("events[0].sequence").value(after + 1));
+    }
+
+    @Test
+    public void streamShouldSendEventsAfterLastEventId() throws Exception {
+        long after = changeEventRing.lastSequence();
+        postFilm("Поток");
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(PATH)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", after))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String expected = "id:" + (after + 1);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!result.getResponse().getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        String content = result.getResponse().getContentAsString();
+        assertTrue(content.contains(expected), content);
+        assertTrue(content.contains("event:films"), content);
+    }
+}
@@ -2,20 +2,23 @@ package ru.yandex.practicum.filmorate.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @AutoConfigureMockMvc
@@ -28,11 +31,6 @@ class FilmControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
-    @BeforeEach
-    public void setUpTest() {
-        FilmController filmController = new FilmController();
-    }
-
     @Test
     public void positiveGetAllEmptyShouldReturnCode200() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get(PATH))
@@ -336,4 +334,275 @@ class FilmControllerTest {
                         .content(filmJson3))
                 .andExpect(MockMvcResultMatchers.status().is4xxClientError());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void positiveGetPageAfterShouldReturnNextLink() throws Exception {
+        Film film = new Film("Форсаж", "Лучший боевик столетия", LocalDate.of(2005, 12, 28), 20);
+        ObjectMapper objectMapper = new ObjectMapper();
+        String filmJson = objectMapper.writeValueAsString(film);
+        long[] ids = new long[3];
+
+        for (int i = 0; i < ids.length; i++) {
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(filmJson))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn();
+            Integer parsedId = JsonPath.read(result.getResponse().getContentAsString(), "id");
+            ids[i] = parsedId;
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH)
+                        .param("after", String.valueOf(ids[0] - 1))
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(ids[0]))
+                .andExpect(jsonPath("$[1].id").value(ids[1]))
+                .andExpect(MockMvcResultMatchers.header().string("Link",
+                        containsString("after=" + ids[1])));
+    }
+
+    @Test
+    public void positiveBatchPostShouldReportPerItemErrors() throws Exception {
+        Film film1 = new Film("Форсаж", "Лучший боевик столетия", LocalDate.of(2005, 12, 28), 20);
+        Film film2 = new Film("Форсаж 2", "Так себе", LocalDate.of(1800, 1, 1), 120);
+        ObjectMapper objectMapper = new ObjectMapper();
+        String filmsJson = objectMapper.writeValueAsString(List.of(film1, film2));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(filmsJson))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].item.id").isNumber())
+                .andExpect(jsonPath("$[0].errors").isEmpty())
+                .andExpect(jsonPath("$[1].item").isEmpty())
+                .andExpect(jsonPath("$[1].errors[0]").value(containsString("releaseDate")));
+    }
+
+    @Test
+    public void oversizedBatchShouldBeRejected() throws Exception {
+        String ndjson = "{}\n".repeat(BatchSupport.MAX_BATCH_SIZE + 1);
+        String array = "[" + "{},".repeat(BatchSupport.MAX_BATCH_SIZE) + "{}]";
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH + "/batch")
+                        .contentType(NdjsonWriter.APPLICATION_NDJSON_VALUE)
+                        .content(ndjson))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(jsonPath("error").exists());
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(array))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(jsonPath("error").exists());
+    }
+
+    @Test
+    public void batchWithTrailingContentShouldBeRejected() throws Exception {
+        Film film = new Film("Форсаж", "Лучший боевик столетия", LocalDate.of(2005, 12, 28), 20);
+        String filmJson = new ObjectMapper().writeValueAsString(film);
+        String before = mockMvc.perform(MockMvcRequestBuilders.get(PATH))
+                .andReturn().getResponse().getContentAsString();
+
+        for (String trailing : List.of(" {}", " [" + filmJson + "]", " x")) {
+            mockMvc.perform(MockMvcRequestBuilders.post(PATH + "/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[" + filmJson + "]" + trailing))
+                    .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                    .andExpect(jsonPath("error").value("Unexpected content after the batch array"));
+        }
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH))
+                .andExpect(MockMvcResultMatchers.content().string(before));
+    }
+
+    @Test
+    public void positiveLikesShouldOrderPopularFilms() throws Exception {
+        Film film = new Film("Форсаж", "Лучший боевик столетия", LocalDate.of(2005, 12, 28), 20);
+        ObjectMapper objectMapper = new ObjectMapper();
+        String filmJson = objectMapper.writeValueAsString(film);
+        long[] ids = new long[2];
+        long[] userIds = new long[2];
+
+        for (int i = 0; i < ids.length; i++) {
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(filmJson))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn();
+            Integer parsedId = JsonPath.read(result.getResponse().getContentAsString(), "id");
+            ids[i] = parsedId;
+
+            User user = new User("like" + i + "@test.com", "like_" + i, "Like" + i, LocalDate.of(2001, 11, 11));
+            MvcResult userResult = mockMvc.perform(MockMvcRequestBuilders.post("/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(user)))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn();
+            Integer parsedUserId = JsonPath.read(userResult.getResponse().getContentAsString(), "id");
+            userIds[i] = parsedUserId;
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/" + ids[0] + "/like/" + userIds[0]))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/" + ids[1] + "/like/" + userIds[0]))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/" + ids[1] + "/like/" + userIds[1]))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/popular").param("count", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(ids[1]))
+                .andExpect(jsonPath("$[1].id").value(ids[0]));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(PATH + "/" + ids[1] + "/like/" + userIds[0]))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.delete(PATH + "/" + ids[1] + "/like/" + userIds[1]))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/popular").param("count", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ids[0]));
+    }
+
+    @Test
+    public void updateWithStaleIfMatchShouldReturn412() throws Exception {
+        Film film = new Film("Версии", "Фильм с версиями", LocalDate.of(2010, 1, 1), 90);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(film)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, EntityTags.toTag(1)))
+                .andReturn();
+        Integer parsedId = JsonPath.read(result.getResponse().getContentAsString(), "id");
+        film.setId(parsedId.longValue());
+        film.setName("Версии 2");
+
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, EntityTags.toTag(1))
+                        .content(objectMapper.writeValueAsString(film)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, EntityTags.toTag(2)));
+
+        film.setName("Версии 3");
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, EntityTags.toTag(1))
+                        .content(objectMapper.writeValueAsString(film)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"previous-2\"")
+                        .content(objectMapper.writeValueAsString(film)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/" + parsedId))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, EntityTags.toTag(2)))
+                .andExpect(jsonPath("name").value("Версии 2"))
+                .andExpect(jsonPath("version").doesNotExist());
+    }
+
+    @Test
+    public void positiveSearchShouldFindByNameAndDescription() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Film byName = new Film("Зеркальный лабиринт", "Триллер", LocalDate.of(2012, 1, 1), 100);
+        Film byDescription = new Film("Дорога", "Путь через лабиринтовый лес", LocalDate.of(2013, 1, 1), 100);
+
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(byName)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        MvcResult second = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(byDescription)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        Integer firstId = JsonPath.read(first.getResponse().getContentAsString(), "id");
+        Integer secondId = JsonPath.read(second.getResponse().getContentAsString(), "id");
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/search").param("q", "Лабиринт"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(firstId))
+                .andExpect(jsonPath("$[1].id").value(secondId));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/search").param("q", "лабиринт").param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    public void positiveRangeFiltersShouldReturnFilmsInKeyOrder() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        int[] ids = new int[3];
+
+        for (int i = 0; i < ids.length; i++) {
+            Film film = new Film("Хроника " + i, "Немое кино", LocalDate.of(1900, 3, 3 - i), 30 + i);
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(film)))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn();
+            ids[i] = JsonPath.read(result.getResponse().getContentAsString(), "id");
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH)
+                        .param("releasedFrom", "1900-03-01")
+                        .param("releasedTo", "1900-03-02"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(ids[2]))
+                .andExpect(jsonPath("$[1].id").value(ids[1]));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH)
+                        .param("releasedTo", "1900-12-31")
+                        .param("minDuration", "31")
+                        .param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LINK, containsString("offset=1")))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ids[2]));
+    }
+
+    @Test
+    public void getAllShouldAnswerNotModifiedUntilFilmsChange() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Film film = new Film("Кэш", "Фильм для проверки кэша", LocalDate.of(2015, 5, 5), 90);
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get(PATH))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(film)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        Integer parsedId = JsonPath.read(result.getResponse().getContentAsString(), "id");
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[?(@.id == " + parsedId + ")].name").value("Кэш"));
+
+        String entityTag = mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/" + parsedId))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/" + parsedId).header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+}
@@ -0,0 +1,57 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsEndpointTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void prometheusShouldExposeRepositoryAndValidationMetrics() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Film film = new Film("Метрики", "Фильм для метрик", LocalDate.of(2010, 1, 1), 100);
+        Film tooEarly = new Film("Метрики", "Слишком ранний фильм", LocalDate.of(1890, 1, 1), 100);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/films")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(film)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.post("/films")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tooEarly)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/films"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(containsString(
+                        "filmorate_repository_operation_seconds_count{operation=\"save\",repository=\"films\",}")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString(
+                        "filmorate_repository_size{repository=\"films\",}")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString(
+                        "filmorate_validation_failures_total{constraint=\"LaterStartDateRealeasedFilm\","
+                                + "field=\"releaseDate\",object=\"film\",}")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString(
+                        "filmorate_json_serialization_seconds_count{writer=\"response-cache\",}")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString(
+                        "http_server_requests_seconds_bucket{")));
+    }
+}
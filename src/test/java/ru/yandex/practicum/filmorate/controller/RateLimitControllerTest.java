@@ -0,0 +1,59 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.time.LocalDate;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "filmorate.rate-limit.enabled=true",
+        "filmorate.rate-limit.trusted-addresses=127.0.0.1",
+        "filmorate.rate-limit.write.capacity=2",
+        "filmorate.rate-limit.write.refill-per-second=0.01"
+})
+class RateLimitControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void writesBeyondBudgetShouldBeRejectedWithRetryAfter() throws Exception {
+        String film = new ObjectMapper().writeValueAsString(
+                new Film("Импорт", "Фильм из импорта", LocalDate.of(2015, 5, 5), 90));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/films")
+                            .header("X-Client-Id", "importer")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(film))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+        mockMvc.perform(MockMvcRequestBuilders.post("/films")
+                        .header("X-Client-Id", "importer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(film))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "100"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/films").header("X-Client-Id", "importer"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.post("/films")
+                        .header("X-Client-Id", "browser")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(film))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/events"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+    }
+}
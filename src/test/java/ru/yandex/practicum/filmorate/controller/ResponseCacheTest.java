@@ -0,0 +1,111 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseCacheTest {
+    private MockHttpServletRequest request(Integer offset) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/films");
+        if (offset != null) {
+            request.setParameter("offset", offset.toString());
+        }
+        return request;
+    }
+
+    @Test
+    public void cacheShouldReloadOnlyWhenVersionChanges() throws Exception {
+        ResponseCache responseCache = new ResponseCache(new ObjectMapper(), new CBORMapper(), 1024 * 1024, new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            responseCache.get(request(null), null, 1, () -> {
+                loads.incrementAndGet();
+                return ResponseEntity.ok(List.of("a"));
+            });
+        }
+        assertEquals(1, loads.get());
+
+        responseCache.get(request(null), null, 2, () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok(List.of("b"));
+        });
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void cacheShouldEvictLeastRecentlyUsedOverBudget() throws Exception {
+        ResponseCache responseCache = new ResponseCache(new ObjectMapper(), new CBORMapper(), 2 * 1024, new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+        String body = "x".repeat(700);
+
+        for (int page = 0; page < 3; page++) {
+            responseCache.get(request(page), null, 1, () -> {
+                loads.incrementAndGet();
+                return ResponseEntity.ok(body);
+            });
+        }
+        responseCache.get(request(2), null, 1, () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok(body);
+        });
+        assertEquals(3, loads.get());
+
+        responseCache.get(request(0), null, 1, () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok(body);
+        });
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void cborClientsShouldGetSeparateEntries() throws Exception {
+        ResponseCache responseCache = new ResponseCache(new ObjectMapper(), new CBORMapper(), 1024 * 1024,
+                new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+        MockHttpServletRequest cborRequest = request(null);
+        cborRequest.addHeader(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor");
+
+        ResponseEntity<byte[]> json = responseCache.get(request(null), null, 1, () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok(List.of("a"));
+        });
+        ResponseEntity<byte[]> cbor = responseCache.get(cborRequest, null, 1, () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok(List.of("a"));
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(MediaType.APPLICATION_JSON, json.getHeaders().getContentType());
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        assertEquals(List.of("a"), new CBORMapper().readValue(cbor.getBody(), List.class));
+    }
+
+    @Test
+    public void onlyTagsOfThisInstanceShouldBeNotModified() throws Exception {
+        ResponseCache responseCache = new ResponseCache(new ObjectMapper(), new CBORMapper(), 1024 * 1024,
+                new SimpleMeterRegistry());
+
+        ResponseEntity<byte[]> fresh = responseCache.get(request(null), null, 3, () -> ResponseEntity.ok(List.of("a")));
+        assertEquals(EntityTags.toTag(3), fresh.getHeaders().getETag());
+
+        ResponseEntity<byte[]> current = responseCache.get(request(null), EntityTags.toTag(3),
+                3, () -> ResponseEntity.ok(List.of("a")));
+        assertEquals(HttpStatus.NOT_MODIFIED, current.getStatusCode());
+
+        ResponseEntity<byte[]> previousInstance = responseCache.get(request(null), "\"3\"", 3,
+                () -> ResponseEntity.ok(List.of("a")));
+        assertEquals(HttpStatus.OK, previousInstance.getStatusCode());
+    }
+}
@@ -2,6 +2,7 @@ package ru.yandex.practicum.filmorate.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,12 +13,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
-import org.springframework.web.util.NestedServletException;
+import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.repository.FilmRepository;
+import ru.yandex.practicum.filmorate.repository.LikeRepository;
+import ru.yandex.practicum.filmorate.repository.UserRepository;
 
 import java.time.LocalDate;
+import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @AutoConfigureMockMvc
@@ -28,9 +33,24 @@ class UserControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FilmRepository filmRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
     @BeforeEach
-    public void setUpTest() {
-        UserController userController = new UserController();
+    @AfterEach
+    public void resetRepositories() {
+        List<User> users = userRepository.getAll();
+        for (Film film : filmRepository.getAll()) {
+            users.forEach(user -> likeRepository.removeLike(film.getId(), user.getId()));
+            filmRepository.deleteById(film.getId());
+        }
+        users.forEach(user -> userRepository.deleteById(user.getId()));
     }
 
     @Test
@@ -247,7 +267,7 @@ class UserControllerTest {
     }
 
     @Test
-    public void negativeUpdateNotInRepositoryShoutThrowNestedServletException() throws Exception {
+    public void negativeUpdateNotInRepositoryShouldReturnNotFound() throws Exception {
         User user = new User("test@test.com", "test_t", "TestUsername1", LocalDate.of(2001, 11, 11));
 
         user.setId(9999L);
@@ -255,21 +275,269 @@ class UserControllerTest {
         ObjectMapper objectMapper = new ObjectMapper();
         String userJson1 = objectMapper.writeValueAsString(user);
 
-        assertThrows(NestedServletException.class, () -> mockMvc.perform(MockMvcRequestBuilders.put(PATH)
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(userJson1)));
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson1))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
     }
 
     @Test
-    public void negativeUpdateNullIdShouldThrowValidationException() throws Exception {
+    public void negativeUpdateNullIdShouldReturnBadRequest() throws Exception {
         User user = new User("test@test.com", "test_t", "TestUsername1", LocalDate.of(2001, 11, 11));
 
         ObjectMapper objectMapper = new ObjectMapper();
         String userJson1 = objectMapper.writeValueAsString(user);
 
-        assertThrows(NestedServletException.class, () -> mockMvc.perform(MockMvcRequestBuilders.put(PATH)
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(userJson1)));
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson1))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void positiveStreamShouldReturnNdjsonLines() throws Exception {
+        User user = new User("stream@test.com", "stream_t", "StreamUser", LocalDate.of(2001, 11, 11));
+        ObjectMapper objectMapper = new ObjectMapper();
+        String userJson1 = objectMapper.writeValueAsString(user);
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson1))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(PATH)
+                        .accept("application/x-ndjson"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertTrue(lines.length > 0);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{") && line.endsWith("}"));
+        }
+        assertTrue(body.contains("\"login\":\"stream_t\""));
+    }
+
+    @Test
+    public void positiveBatchPutFromNdjsonShouldReportNotFound() throws Exception {
+        User user = new User("batch@test.com", "batch_t", "BatchUser", LocalDate.of(2001, 11, 11));
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+
+        Integer parsedId = JsonPath.read(result.getResponse().getContentAsString(), "id");
+        user.setId(parsedId.longValue());
+        user.setName("BatchUser1");
+        User missingUser = new User("missing@test.com", "missing_t", "Missing", LocalDate.of(2001, 11, 11));
+        missingUser.setId(99999L);
+
+        String body = objectMapper.writeValueAsString(user) + "\n" + objectMapper.writeValueAsString(missingUser);
+
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/batch")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$[0].item.name").value("BatchUser1"))
+                .andExpect(jsonPath("$[1].item").isEmpty())
+                .andExpect(jsonPath("$[1].errors[0]").value("Not found with id =99999"));
+    }
+
+    @Test
+    public void batchWithDuplicateLoginShouldReportItemAndSaveTheRest() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        User existing = new User("taken@test.com", "taken_t", "Taken", LocalDate.of(2001, 11, 11));
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(existing)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        User[] batch = {
+                new User("first@test.com", "first_t", "First", LocalDate.of(2001, 11, 11)),
+                new User("second@test.com", "taken_t", "Second", LocalDate.of(2001, 11, 11)),
+                new User("third@test.com", "third_t", "Third", LocalDate.of(2001, 11, 11))
+        };
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$[0].item.login").value("first_t"))
+                .andExpect(jsonPath("$[0].errors").isEmpty())
+                .andExpect(jsonPath("$[1].item").isEmpty())
+                .andExpect(jsonPath("$[1].errors.length()").value(1))
+                .andExpect(jsonPath("$[2].item.login").value("third_t"))
+                .andExpect(jsonPath("$[2].errors").isEmpty());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/by-login/first_t"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/by-login/third_t"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/by-login/taken_t"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("email").value("taken@test.com"));
+    }
+
+    @Test
+    public void positiveFriendsShouldReturnCommonFriends() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        long[] ids = new long[3];
+
+        for (int i = 0; i < ids.length; i++) {
+            User user = new User("friend" + i + "@test.com", "friend_" + i, "Friend" + i, LocalDate.of(2001, 11, 11));
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(user)))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn();
+            Integer parsedId = JsonPath.read(result.getResponse().getContentAsString(), "id");
+            ids[i] = parsedId;
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/" + ids[0] + "/friends/" + ids[2]))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/" + ids[1] + "/friends/" + ids[2]))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/" + ids[0] + "/friends/" + ids[1]))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/" + ids[2] + "/friends"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(ids[0]))
+                .andExpect(jsonPath("$[1].id").value(ids[1]));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/" + ids[0] + "/friends/common/" + ids[1]))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ids[2]));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(PATH + "/" + ids[2] + "/friends/" + ids[0]))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/" + ids[0] + "/friends"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ids[1]));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void recommendationsShouldComeFromUsersWithOverlappingLikes() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        long[] userIds = new long[3];
+        long[] filmIds = new long[4];
+
+        for (int i = 0; i < userIds.length; i++) {
+            User user = new User("taste" + i + "@test.com", "taste_" + i, "Taste" + i, LocalDate.of(2001, 11, 11));
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(user)))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn();
+            Integer parsedId = JsonPath.read(result.getResponse().getContentAsString(), "id");
+            userIds[i] = parsedId;
+        }
+        for (int i = 0; i < filmIds.length; i++) {
+            Film film = new Film("Taste film " + i, "Description " + i, LocalDate.of(2010, 1, 1), 90);
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/films")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(film)))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn();
+            Integer parsedId = JsonPath.read(result.getResponse().getContentAsString(), "id");
+            filmIds[i] = parsedId;
+        }
+
+        int[][] likes = {{0, 0}, {0, 1}, {1, 0}, {1, 1}, {1, 2}, {2, 3}};
+        for (int[] like : likes) {
+            mockMvc.perform(MockMvcRequestBuilders.put("/films/" + filmIds[like[1]] + "/like/" + userIds[like[0]]))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/" + userIds[0] + "/recommendations").param("count", "5"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(filmIds[2]));
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/" + userIds[2] + "/recommendations"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/99999/recommendations"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void positiveFindByLoginAndEmailAndRejectDuplicates() throws Exception {
+        User user = new User("Index@Test.com", "index_t", "IndexUser", LocalDate.of(2001, 11, 11));
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        Integer parsedId = JsonPath.read(result.getResponse().getContentAsString(), "id");
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/by-login/index_t"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("id").value(parsedId));
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/by-email/index@test.com"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("id").value(parsedId));
+
+        User sameLogin = new User("other@test.com", "index_t", "Other", LocalDate.of(2001, 11, 11));
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sameLogin)))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+
+        User sameEmail = new User("INDEX@test.com", "other_t", "Other", LocalDate.of(2001, 11, 11));
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sameEmail)))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+
+        user.setId(parsedId.longValue());
+        user.setLogin("renamed_t");
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/by-login/renamed_t"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("id").value(parsedId));
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/by-login/index_t"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void positiveBirthdayRangeShouldReturnUsersInDateOrder() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        int[] ids = new int[3];
+
+        for (int i = 0; i < ids.length; i++) {
+            User user = new User("born" + i + "@test.com", "born_" + i, "Born" + i, LocalDate.of(1990, 5, 3 - i));
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(user)))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn();
+            ids[i] = JsonPath.read(result.getResponse().getContentAsString(), "id");
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH).param("bornFrom", "1990-05-02"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(ids[1]))
+                .andExpect(jsonPath("$[1].id").value(ids[0]));
+    }
+}
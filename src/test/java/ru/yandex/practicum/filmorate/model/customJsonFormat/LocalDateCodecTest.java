@@ -0,0 +1,54 @@
+package ru.yandex.practicum.filmorate.model.customJsonFormat;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalDateCodecTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(createModule());
+    private final ObjectMapper cborMapper = new CBORMapper().registerModule(createModule());
+
+    private static SimpleModule createModule() {
+        return new SimpleModule()
+                .addSerializer(LocalDate.class, new LocalDateSerialize())
+                .addDeserializer(LocalDate.class, new LocalDateDeserializer());
+    }
+
+    @Test
+    public void serializeShouldWriteIsoDate() throws Exception {
+        assertEquals("\"2011-11-01\"", objectMapper.writeValueAsString(LocalDate.of(2011, 11, 1)));
+        assertEquals("\"0895-01-09\"", objectMapper.writeValueAsString(LocalDate.of(895, 1, 9)));
+        assertEquals("\"+10000-01-01\"", objectMapper.writeValueAsString(LocalDate.of(10000, 1, 1)));
+    }
+
+    @Test
+    public void deserializeShouldReadIsoDate() throws Exception {
+        assertEquals(LocalDate.of(2011, 11, 1), objectMapper.readValue("\"2011-11-01\"", LocalDate.class));
+        assertEquals(LocalDate.of(10000, 1, 1), objectMapper.readValue("\"+10000-01-01\"", LocalDate.class));
+    }
+
+    @Test
+    public void deserializeShouldRejectInvalidDate() {
+        assertThrows(Exception.class, () -> objectMapper.readValue("\"2011-02-30\"", LocalDate.class));
+        assertThrows(Exception.class, () -> objectMapper.readValue("\"2011-1a-01\"", LocalDate.class));
+        assertThrows(JsonMappingException.class, () -> objectMapper.readValue("20111101", LocalDate.class));
+    }
+
+    @Test
+    public void binaryFormatShouldUseEpochDay() throws Exception {
+        LocalDate date = LocalDate.of(2011, 11, 1);
+        byte[] cbor = cborMapper.writeValueAsBytes(date);
+
+        assertEquals(date.toEpochDay(), cborMapper.readTree(cbor).longValue());
+        assertEquals(date, cborMapper.readValue(cbor, LocalDate.class));
+        assertEquals(LocalDate.of(10000, 1, 1),
+                cborMapper.readValue(cborMapper.writeValueAsBytes(LocalDate.of(10000, 1, 1)), LocalDate.class));
+    }
+}
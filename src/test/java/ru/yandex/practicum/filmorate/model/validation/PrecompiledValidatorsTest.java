@@ -0,0 +1,99 @@
+package ru.yandex.practicum.filmorate.model.validation;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrecompiledValidatorsTest {
+    private static ValidatorFactory validatorFactory;
+    private static Validator standard;
+    private static Validator filmValidator;
+    private static Validator userValidator;
+
+    @BeforeAll
+    public static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        standard = new SpringValidatorAdapter(validatorFactory.getValidator());
+        filmValidator = new FilmValidator(validatorFactory.getValidator());
+        userValidator = new UserValidator(validatorFactory.getValidator());
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        validatorFactory.close();
+    }
+
+    private Set<String> errors(Validator validator, Object target) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "target");
+        validator.validate(target, bindingResult);
+        return bindingResult.getFieldErrors().stream()
+                .map(error -> error.getField() + ":" + error.getCode() + ":" + error.getDefaultMessage())
+                .collect(Collectors.toSet());
+    }
+
+    private void assertSameErrors(Validator precompiled, Object target) {
+        assertEquals(errors(standard, target), errors(precompiled, target), target.toString());
+    }
+
+    @Test
+    public void filmValidatorShouldMatchStandardValidation() {
+        List<Film> films = List.of(
+                new Film("Фильм", "Описание", LocalDate.of(2000, 1, 1), 100),
+                new Film(null, null, null, 0),
+                new Film(" ", "\t", LocalDate.of(1895, 12, 28), -1),
+                new Film("Фильм", "x".repeat(200), LocalDate.of(1895, 12, 29), 1),
+                new Film("Фильм", "x".repeat(201), LocalDate.of(2000, 1, 1), 1),
+                new Film("Фильм", " ".repeat(201), LocalDate.of(2000, 1, 1), 1));
+
+        for (Film film : films) {
+            assertSameErrors(filmValidator, film);
+        }
+        assertEquals(Set.of("releaseDate:LaterStartDateRealeasedFilm:must be after 1895-12-28"),
+                errors(filmValidator, new Film("Фильм", "Описание", LocalDate.of(1890, 1, 1), 100)));
+    }
+
+    @Test
+    public void userValidatorShouldMatchStandardValidation() {
+        List<String> emails = List.of("user@mail.ru", "first.last+tag@sub.example-host.com", "UPPER@EXAMPLE.COM",
+                "", " ", "plain", "@mail.ru", "user@", "user@mail.", ".user@mail.ru", "user.@mail.ru",
+                "us..er@mail.ru", "user@-mail.ru", "user@mail-.ru", "user@ma..il.ru", "a@b@mail.ru",
+                "\"quoted local\"@mail.ru", "user@[127.0.0.1]", "пользователь@почта.рф",
+                "x".repeat(65) + "@mail.ru", "user@" + "d".repeat(64) + ".ru", "user@mail.ru ");
+        List<String> logins = List.of("login", "", " ", "with space", "tab\tbed", "юзер");
+        List<LocalDate> birthdays = List.of(LocalDate.of(1990, 1, 1), LocalDate.now(), LocalDate.now().plusDays(1));
+
+        for (String email : emails) {
+            assertSameErrors(userValidator, new User(email, "login", "name", LocalDate.of(1990, 1, 1)));
+        }
+        for (String login : logins) {
+            assertSameErrors(userValidator, new User("user@mail.ru", login, "name", LocalDate.of(1990, 1, 1)));
+        }
+        for (LocalDate birthday : birthdays) {
+            assertSameErrors(userValidator, new User("user@mail.ru", "login", null, birthday));
+        }
+        assertSameErrors(userValidator, new User(null, null, null, null));
+    }
+
+    @Test
+    public void plainEmailScanShouldOnlyAcceptCommonAddresses() {
+        assertTrue(UserValidator.isPlainEmail("user@mail.ru"));
+        assertFalse(UserValidator.isPlainEmail("\"quoted\"@mail.ru"));
+        assertFalse(UserValidator.isPlainEmail("user@[127.0.0.1]"));
+        assertFalse(UserValidator.isPlainEmail("user@почта.рф"));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.model.ChangeType;
+import ru.yandex.practicum.filmorate.model.EventPage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeEventRingTest {
+    @Test
+    public void readShouldReturnEventsInSequenceOrder() {
+        ChangeEventRing ring = new ChangeEventRing(8);
+        for (long id = 1; id <= 5; id++) {
+            ring.publish("films", ChangeType.SAVED, id, 1);
+        }
+
+        EventPage page = ring.read(1, 3);
+
+        assertFalse(page.isMissed());
+        assertEquals(3, page.getEvents().size());
+        assertEquals(2, page.getEvents().get(0).getSequence());
+        assertEquals(4, page.getNext());
+        assertTrue(ring.read(5, 10).getEvents().isEmpty());
+        assertEquals(5, ring.read(5, 10).getNext());
+    }
+
+    @Test
+    public void lappedConsumerShouldBeToldAndResumeFromOldest() {
+        ChangeEventRing ring = new ChangeEventRing(4);
+        for (long id = 1; id <= 10; id++) {
+            ring.publish("users", ChangeType.UPDATED, id, 2);
+        }
+
+        EventPage page = ring.read(2, 100);
+
+        assertTrue(page.isMissed());
+        assertEquals(4, page.getEvents().size());
+        assertEquals(7, page.getEvents().get(0).getSequence());
+        assertEquals(10, page.getNext());
+        assertFalse(ring.read(6, 100).isMissed());
+    }
+
+    @Test
+    public void cursorFromPreviousRunShouldBeMissed() {
+        ChangeEventRing ring = new ChangeEventRing(8);
+        assertTrue(ring.read(42, 10).isMissed());
+        assertEquals(0, ring.read(42, 10).getNext());
+
+        for (long id = 1; id <= 3; id++) {
+            ring.publish("films", ChangeType.SAVED, id, 1);
+        }
+
+        EventPage page = ring.read(42, 10);
+
+        assertTrue(page.isMissed());
+        assertEquals(3, page.getEvents().size());
+        assertEquals(1, page.getEvents().get(0).getSequence());
+        assertEquals(3, page.getNext());
+    }
+
+    @Test
+    public void publishShouldNotifyListener() {
+        ChangeEventRing ring = new ChangeEventRing(4);
+        int[] notified = new int[1];
+        ring.onPublish(() -> notified[0]++);
+
+        ring.publish("films", ChangeType.DELETED, 1, 0);
+
+        assertEquals(1, notified[0]);
+        assertThrows(IllegalArgumentException.class, () -> new ChangeEventRing(6));
+    }
+}
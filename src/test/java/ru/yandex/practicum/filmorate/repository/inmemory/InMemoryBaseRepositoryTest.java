@@ -0,0 +1,100 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryBaseRepositoryTest {
+    private static final int THREADS = 8;
+    private static final int SAVES_PER_THREAD = 10_000;
+
+    private Film createFilm(int number) {
+        return new Film("Film " + number, "Description " + number, LocalDate.of(2000, 1, 1), 100);
+    }
+
+    @Test
+    public void concurrentSaveShouldNotLoseOrDuplicateIds() throws Exception {
+        InMemoryBaseRepository<Film> repository = new InMemoryBaseRepository<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                List<Long> ids = new ArrayList<>(SAVES_PER_THREAD);
+                start.await();
+                for (int i = 0; i < SAVES_PER_THREAD; i++) {
+                    ids.add(repository.save(createFilm(i)).getId());
+                }
+                return ids;
+            }));
+        }
+
+        start.countDown();
+        Set<Long> allIds = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            for (Long id : future.get(1, TimeUnit.MINUTES)) {
+                assertTrue(allIds.add(id), "Duplicate id " + id);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * SAVES_PER_THREAD, allIds.size());
+        assertEquals(THREADS * SAVES_PER_THREAD, repository.getAll().size());
+        for (long id = 1; id <= THREADS * SAVES_PER_THREAD; id++) {
+            assertTrue(allIds.contains(id), "Lost id " + id);
+        }
+    }
+
+    @Test
+    public void getAllShouldKeepInsertionOrder() {
+        InMemoryBaseRepository<Film> repository = new InMemoryBaseRepository<>();
+
+        for (int i = 0; i < 100; i++) {
+            repository.save(createFilm(i));
+        }
+        repository.deleteById(50);
+
+        List<Film> films = repository.getAll();
+        assertEquals(99, films.size());
+        for (int i = 1; i < films.size(); i++) {
+            assertTrue(films.get(i - 1).getId() < films.get(i).getId());
+        }
+    }
+
+    @Test
+    public void saveWithExplicitIdShouldAdvanceSequence() {
+        InMemoryBaseRepository<Film> repository = new InMemoryBaseRepository<>();
+        Film film = createFilm(1);
+        film.setId(10L);
+
+        repository.save(film);
+
+        assertEquals(11L, repository.save(createFilm(2)).getId());
+    }
+
+    @Test
+    public void getPageShouldReturnSliceInInsertionOrder() {
+        InMemoryBaseRepository<Film> repository = new InMemoryBaseRepository<>();
+
+        for (int i = 0; i < 10; i++) {
+            repository.save(createFilm(i));
+        }
+
+        List<Film> byOffset = repository.getPage(3, 4);
+        assertEquals(4, byOffset.size());
+        assertEquals(4L, byOffset.get(0).getId());
+        assertEquals(7L, byOffset.get(3).getId());
+
+        List<Film> byCursor = repository.getPageAfter(8, 5);
+        assertEquals(2, byCursor.size());
+        assertEquals(9L, byCursor.get(0).getId());
+        assertEquals(10L, byCursor.get(1).getId());
+    }
+}
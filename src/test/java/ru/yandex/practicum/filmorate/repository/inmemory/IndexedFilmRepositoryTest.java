@@ -0,0 +1,149 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedFilmRepositoryTest {
+    private Film createFilm(String name, String description) {
+        return new Film(name, description, LocalDate.of(2000, 1, 1), 100);
+    }
+
+    private List<Long> searchIds(IndexedFilmRepository repository, String query) {
+        return repository.search(query, 10).stream()
+                .map(Film::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void searchShouldRankNameMatchesHigher() {
+        IndexedFilmRepository repository = new IndexedFilmRepository(new InMemoryBaseRepository<>());
+        Film inDescription = repository.save(createFilm("Ночь", "Погоня за матрицей"));
+        Film inName = repository.save(createFilm("Матрица", "Хакер узнаёт правду"));
+        Film byPrefix = repository.save(createFilm("Матрицы 2", "Продолжение"));
+        repository.save(createFilm("Форсаж", "Гонки"));
+
+        assertEquals(List.of(inName.getId(), byPrefix.getId(), inDescription.getId()), searchIds(repository, "матриц"));
+        assertEquals(List.of(inName.getId(), byPrefix.getId(), inDescription.getId()), searchIds(repository, "МАТРИЦ"));
+        assertEquals(List.of(inName.getId()), searchIds(repository, "матрица хакер"));
+        assertTrue(searchIds(repository, "терминатор").isEmpty());
+    }
+
+    @Test
+    public void searchShouldFollowUpdatesAndDeletes() {
+        IndexedFilmRepository repository = new IndexedFilmRepository(new InMemoryBaseRepository<>());
+        Film film = repository.save(createFilm("Alien", "Space horror"));
+
+        Film renamed = createFilm("Aliens", "Space marines");
+        renamed.setId(film.getId());
+        repository.update(renamed, null);
+
+        assertTrue(searchIds(repository, "horror").isEmpty());
+        assertEquals(List.of(film.getId()), searchIds(repository, "marines"));
+        assertEquals(List.of(film.getId()), searchIds(repository, "alien"));
+
+        repository.deleteById(film.getId());
+        assertTrue(searchIds(repository, "alien").isEmpty());
+    }
+
+    @Test
+    public void searchShouldStopAtLimitInIdOrder() {
+        IndexedFilmRepository repository = new IndexedFilmRepository(new InMemoryBaseRepository<>());
+        for (int i = 0; i < 100; i++) {
+            repository.save(createFilm("Film " + i, "Same plot"));
+        }
+
+        List<Film> films = repository.search("plot", 5);
+        assertEquals(5, films.size());
+        for (int i = 0; i < films.size(); i++) {
+            assertEquals(i + 1L, films.get(i).getId());
+        }
+    }
+
+    @Test
+    public void prefixSearchOverManyTermsShouldStopAtLimitInIdOrder() {
+        IndexedFilmRepository repository = new IndexedFilmRepository(new InMemoryBaseRepository<>());
+        for (int i = 0; i < 100; i++) {
+            repository.save(createFilm("Film " + i, "Sequel" + i));
+        }
+
+        List<Film> films = repository.search("sequel", 5);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), films.stream().map(Film::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void textIndexShouldDropTermsWithoutPostings() {
+        TextIndex index = new TextIndex();
+        index.index(1, Map.of("alien", 1, "horror", 1));
+        index.index(2, Map.of("alien", 1));
+        assertEquals(2, index.termCount());
+
+        index.index(1, Map.of("alien", 1, "marines", 1));
+        assertEquals(2, index.termCount());
+
+        index.remove(1);
+        index.remove(2);
+        assertEquals(0, index.termCount());
+        assertEquals(0, index.search("alien", 10).length);
+
+        index.index(3, Map.of("alien", 1));
+        assertArrayEquals(new long[]{3}, index.search("alien", 10));
+    }
+
+    @Test
+    public void rangeIndexesShouldFollowUpdatesAndDeletes() {
+        IndexedFilmRepository repository = new IndexedFilmRepository(new InMemoryBaseRepository<>());
+        for (int i = 0; i < 10; i++) {
+            repository.save(new Film("Film " + i, "Plot", LocalDate.of(2000, 1, 10 - i), 90 + i));
+        }
+
+        List<Film> released = new ArrayList<>();
+        repository.iterateByReleaseDate(LocalDate.of(2000, 1, 3), LocalDate.of(2000, 1, 5))
+                .forEachRemaining(released::add);
+        assertEquals(List.of(8L, 7L, 6L), released.stream().map(Film::getId).collect(Collectors.toList()));
+
+        Film moved = new Film("Film 7", "Plot", LocalDate.of(2010, 1, 1), 200);
+        moved.setId(7L);
+        repository.update(moved, null);
+        repository.deleteById(8L);
+
+        released.clear();
+        repository.iterateByReleaseDate(LocalDate.of(2000, 1, 3), null).forEachRemaining(released::add);
+        assertEquals(List.of(6L, 5L, 4L, 3L, 2L, 1L, 7L), released.stream().map(Film::getId).collect(Collectors.toList()));
+
+        List<Film> longest = new ArrayList<>();
+        repository.iterateByDuration(99, null).forEachRemaining(longest::add);
+        assertEquals(List.of(10L, 7L), longest.stream().map(Film::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void rangeIndexShouldDropEmptyBuckets() {
+        RangeIndex index = new RangeIndex();
+        index.put(1, 10);
+        index.put(2, 10);
+        index.put(3, 20);
+        assertEquals(2, index.keyCount());
+
+        index.put(3, 30);
+        assertEquals(2, index.keyCount());
+
+        index.remove(1);
+        index.put(2, null);
+        index.remove(3);
+        assertEquals(0, index.keyCount());
+        assertFalse(index.range(null, null).hasNext());
+
+        index.put(4, 10);
+        assertEquals(4L, index.range(10, 10).next());
+    }
+}
@@ -0,0 +1,86 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.DuplicateException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedUserRepositoryTest {
+    private static final int THREADS = 8;
+
+    private User createUser(String login, String email) {
+        return new User(email, login, login, LocalDate.of(2000, 1, 1));
+    }
+
+    @Test
+    public void concurrentSaveOfSameLoginShouldKeepOnlyOne() throws Exception {
+        IndexedUserRepository repository = new IndexedUserRepository(new InMemoryBaseRepository<>());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int number = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    repository.save(createUser("same", "user" + number + "@test.com"));
+                    return true;
+                } catch (DuplicateException e) {
+                    return false;
+                }
+            }));
+        }
+
+        start.countDown();
+        int saved = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get(1, TimeUnit.MINUTES)) {
+                saved++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, saved);
+        assertEquals(1, repository.getAll().size());
+        assertEquals(repository.getAll().get(0), repository.findByLogin("same"));
+    }
+
+    @Test
+    public void updateAndDeleteShouldReleaseOldKeys() {
+        IndexedUserRepository repository = new IndexedUserRepository(new InMemoryBaseRepository<>());
+        User user = repository.save(createUser("first", "First@Test.com"));
+
+        User renamed = createUser("second", "second@test.com");
+        renamed.setId(user.getId());
+        repository.update(renamed, null);
+
+        assertNull(repository.findByLogin("first"));
+        assertNull(repository.findByEmail("first@test.com"));
+        assertEquals(user.getId(), repository.findByLogin("second").getId());
+        assertEquals(user.getId(), repository.findByEmail("SECOND@test.com").getId());
+        assertNotNull(repository.save(createUser("first", "first@test.com")));
+
+        repository.deleteById(user.getId());
+        assertNull(repository.findByLogin("second"));
+        assertNotNull(repository.save(createUser("second", "second@test.com")));
+    }
+
+    @Test
+    public void rejectedBatchShouldNotLeaveClaims() {
+        IndexedUserRepository repository = new IndexedUserRepository(new InMemoryBaseRepository<>());
+
+        assertThrows(DuplicateException.class, () -> repository.saveAll(List.of(
+                createUser("a", "a@test.com"),
+                createUser("a", "b@test.com"))));
+
+        assertTrue(repository.getAll().isEmpty());
+        assertNotNull(repository.save(createUser("a", "a@test.com")));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.filmorate.repository.inmemory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LikeBitmapTest {
+    private LikeBitmap bitmapOf(Set<Long> ids) {
+        LikeBitmap bitmap = LikeBitmap.EMPTY;
+        for (long id : ids) {
+            bitmap = bitmap.with(id);
+        }
+        return bitmap;
+    }
+
+    @Test
+    public void denseAndSparseGroupsShouldIntersectLikeSets() {
+        Set<Long> dense = new TreeSet<>();
+        Set<Long> sparse = new TreeSet<>();
+        for (long id = 1; id <= 10_000; id++) {
+            dense.add(id);
+        }
+        for (long id = 5_000; id <= 200_000; id += 7) {
+            sparse.add(id);
+        }
+        Set<Long> common = new TreeSet<>(dense);
+        common.retainAll(sparse);
+
+        LikeBitmap denseBitmap = bitmapOf(dense);
+        LikeBitmap sparseBitmap = bitmapOf(sparse);
+
+        assertEquals(dense.size(), denseBitmap.cardinality());
+        assertEquals(common.size(), denseBitmap.intersectionCardinality(sparseBitmap));
+        assertEquals(common.size(), sparseBitmap.intersectionCardinality(denseBitmap));
+        assertEquals(dense.size(), denseBitmap.intersectionCardinality(denseBitmap));
+
+        List<Long> iterated = new ArrayList<>();
+        sparseBitmap.forEach(iterated::add);
+        assertEquals(new ArrayList<>(sparse), iterated);
+    }
+
+    @Test
+    public void updatesShouldNotChangeOriginal() {
+        LikeBitmap original = bitmapOf(Set.of(1L, 70_000L));
+        LikeBitmap changed = original.with(2L).without(70_000L);
+
+        assertTrue(original.contains(70_000L));
+        assertFalse(original.contains(2L));
+        assertEquals(2, changed.cardinality());
+        assertTrue(changed.contains(2L));
+        assertFalse(changed.contains(70_000L));
+        assertSame(changed, changed.without(12345L));
+    }
+
+    @Test
+    public void removingFromDenseGroupShouldShrinkBackToArray() {
+        Set<Long> ids = new TreeSet<>();
+        for (long id = 0; id <= 5_000; id++) {
+            ids.add(id);
+        }
+        LikeBitmap bitmap = bitmapOf(ids);
+
+        for (long id = 0; id < 2_000; id++) {
+            bitmap = bitmap.without(id);
+        }
+
+        assertEquals(3_001, bitmap.cardinality());
+        assertFalse(bitmap.contains(1_999L));
+        assertTrue(bitmap.contains(2_000L));
+        assertEquals(3_001, bitmap.intersectionCardinality(bitmapOf(ids)));
+    }
+}
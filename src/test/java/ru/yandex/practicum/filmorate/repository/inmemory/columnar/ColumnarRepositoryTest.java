@@ -0,0 +1,123 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.columnar;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.VersionConflictException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarRepositoryTest {
+    private Film createFilm(int number) {
+        return new Film("Фильм " + number, "Description " + number, LocalDate.of(2000, 1, 1).plusDays(number),
+                90 + number);
+    }
+
+    @Test
+    public void savedFilmShouldBeMaterializedAsCopy() {
+        ColumnarFilmRepository repository = new ColumnarFilmRepository();
+        Film film = repository.save(createFilm(1));
+
+        Film stored = repository.getById(film.getId());
+
+        assertNotSame(film, stored);
+        assertEquals(film.getName(), stored.getName());
+        assertEquals(film.getDescription(), stored.getDescription());
+        assertEquals(film.getReleaseDate(), stored.getReleaseDate());
+        assertEquals(film.getDuration(), stored.getDuration());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    public void userShouldKeepNullFields() {
+        ColumnarUserRepository repository = new ColumnarUserRepository();
+        User user = repository.save(new User("mail@mail.ru", "login", null, null));
+
+        User stored = repository.getById(user.getId());
+
+        assertEquals("mail@mail.ru", stored.getEmail());
+        assertEquals("login", stored.getLogin());
+        assertNull(stored.getName());
+        assertNull(stored.getBirthday());
+    }
+
+    @Test
+    public void updateShouldCheckVersionAndRewriteColumns() {
+        ColumnarFilmRepository repository = new ColumnarFilmRepository();
+        long id = repository.save(createFilm(1)).getId();
+        Film changed = createFilm(2);
+        changed.setId(id);
+
+        assertEquals(2L, repository.update(changed, 1L).getVersion());
+        assertThrows(VersionConflictException.class, () -> repository.update(changed, 1L));
+        assertEquals("Фильм 2", repository.getById(id).getName());
+
+        Film missing = createFilm(3);
+        missing.setId(id + 5000);
+        assertNull(repository.update(missing, null));
+    }
+
+    @Test
+    public void repeatedUpdatesShouldNotGrowArenaWithoutBound() {
+        ColumnarFilmRepository repository = new ColumnarFilmRepository();
+        long id = repository.save(createFilm(1)).getId();
+        StringColumn descriptions = ((ColumnarFilmRepository.FilmChunk) repository.newChunk()).descriptions;
+
+        for (int i = 0; i < 10_000; i++) {
+            Film film = createFilm(i);
+            film.setId(id);
+            repository.update(film, null);
+            descriptions.set(0, film.getDescription());
+        }
+
+        assertEquals("Description 9999", repository.getById(id).getDescription());
+        assertEquals("Description 9999", descriptions.get(0));
+        assertTrue(descriptions.capacity() < 1024);
+    }
+
+    @Test
+    public void emptyStringShouldSurviveArenaShrink() {
+        StringColumn column = new StringColumn(4);
+        column.set(1, "x".repeat(2000));
+        column.set(0, "");
+        column.set(1, "y".repeat(1000));
+        int grown = column.capacity();
+
+        column.set(2, "z");
+
+        assertTrue(column.capacity() < grown);
+        assertEquals("", column.get(0));
+        assertEquals("y".repeat(1000), column.get(1));
+        assertEquals("z", column.get(2));
+        assertNull(column.get(3));
+    }
+
+    @Test
+    public void pagesShouldSkipDeletedRowsAcrossChunks() {
+        ColumnarFilmRepository repository = new ColumnarFilmRepository();
+        List<Film> films = new ArrayList<>();
+        for (int i = 0; i < 3 * ColumnarRepository.CHUNK_SIZE; i++) {
+            films.add(createFilm(i));
+        }
+        repository.saveAll(films);
+        for (long id = 1000; id < 1100; id++) {
+            repository.deleteById(id);
+        }
+
+        assertEquals(3L * ColumnarRepository.CHUNK_SIZE - 100, repository.size());
+        assertEquals(repository.size(), repository.getAll().size());
+
+        List<Film> byOffset = repository.getPage(998, 3);
+        assertEquals(List.of(999L, 1100L, 1101L), List.of(byOffset.get(0).getId(), byOffset.get(1).getId(),
+                byOffset.get(2).getId()));
+
+        List<Film> byCursor = repository.getPageAfter(2L * ColumnarRepository.CHUNK_SIZE - 2, 3);
+        assertEquals(List.of(2047L, 2048L, 2049L), List.of(byCursor.get(0).getId(), byCursor.get(1).getId(),
+                byCursor.get(2).getId()));
+        assertTrue(repository.getPageAfter(3L * ColumnarRepository.CHUNK_SIZE, 10).isEmpty());
+    }
+}
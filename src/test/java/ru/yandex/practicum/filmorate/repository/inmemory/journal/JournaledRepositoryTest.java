@@ -0,0 +1,139 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.repository.inmemory.InMemoryBaseRepository;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.StorageException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledRepositoryTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new ParameterNamesModule());
+
+    @TempDir
+    Path directory;
+
+    private JournaledRepository<Film> open(long snapshotEvery) {
+        return new JournaledRepository<>(new InMemoryBaseRepository<>(), new WriteAheadLog(directory, "films", true),
+                objectMapper, Film.class, snapshotEvery);
+    }
+
+    private Film createFilm(int number) {
+        return new Film("Film " + number, "Description " + number, LocalDate.of(2000, 1, number), 100 + number);
+    }
+
+    @Test
+    public void restartShouldReplayLog() throws IOException {
+        JournaledRepository<Film> repository = open(Long.MAX_VALUE);
+        repository.save(createFilm(1));
+        repository.saveAll(List.of(createFilm(2), createFilm(3)));
+        Film updated = createFilm(4);
+        updated.setId(2L);
+        repository.save(updated);
+        repository.deleteById(3);
+        repository.close();
+
+        JournaledRepository<Film> restarted = open(Long.MAX_VALUE);
+        List<Film> films = restarted.getAll();
+        assertEquals(2, films.size());
+        assertEquals("Film 1", films.get(0).getName());
+        assertEquals(LocalDate.of(2000, 1, 4), restarted.getById(2).getReleaseDate());
+        assertNull(restarted.getById(3));
+        assertEquals(4L, restarted.save(createFilm(5)).getId());
+        restarted.close();
+    }
+
+    @Test
+    public void restartShouldReplaySnapshotAndLogTail() throws IOException {
+        JournaledRepository<Film> repository = open(Long.MAX_VALUE);
+        for (int i = 1; i <= 10; i++) {
+            repository.save(createFilm(i));
+        }
+        repository.snapshot();
+        repository.deleteById(1);
+        repository.save(createFilm(11));
+        repository.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            List<String> names = files.map(path -> path.getFileName().toString()).collect(Collectors.toList());
+            assertTrue(names.contains("films.snapshot"));
+            assertFalse(names.contains("films-00000000000000000001.log"));
+        }
+
+        JournaledRepository<Film> restarted = open(Long.MAX_VALUE);
+        assertEquals(10, restarted.getAll().size());
+        assertNull(restarted.getById(1));
+        assertEquals("Film 11", restarted.getById(11).getName());
+        restarted.close();
+    }
+
+    @Test
+    public void tornTailShouldBeIgnored() throws IOException {
+        JournaledRepository<Film> repository = open(Long.MAX_VALUE);
+        repository.save(createFilm(1));
+        repository.save(createFilm(2));
+        repository.close();
+
+        Path log = directory.resolve("films-00000000000000000001.log");
+        long size = Files.size(log);
+        try (var channel = Files.newByteChannel(log, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        JournaledRepository<Film> restarted = open(Long.MAX_VALUE);
+        assertEquals(1, restarted.getAll().size());
+        assertEquals("Film 1", restarted.getById(1).getName());
+        restarted.close();
+    }
+
+    @Test
+    public void failedAppendShouldNotLeaveChangeVisible() throws IOException {
+        boolean[] failing = new boolean[1];
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory, "films", true) {
+            @Override
+            public long appendSave(byte[] payload) {
+                if (failing[0]) {
+                    throw new UncheckedIOException(new IOException("Disk full"));
+                }
+                return super.appendSave(payload);
+            }
+        };
+        JournaledRepository<Film> repository = new JournaledRepository<>(new InMemoryBaseRepository<>(),
+                writeAheadLog, objectMapper, Film.class, Long.MAX_VALUE);
+        repository.save(createFilm(1));
+
+        failing[0] = true;
+        assertThrows(StorageException.class, () -> repository.save(createFilm(2)));
+        Film changed = createFilm(3);
+        changed.setId(1L);
+        assertThrows(StorageException.class, () -> repository.update(changed, null));
+
+        assertEquals(1, repository.getAll().size());
+        assertEquals("Film 1", repository.getById(1).getName());
+        failing[0] = false;
+        assertThrows(StorageException.class, () -> repository.save(createFilm(4)));
+        repository.close();
+    }
+
+    @Test
+    public void writeAfterCloseShouldFailWithStorageException() throws IOException {
+        JournaledRepository<Film> repository = open(Long.MAX_VALUE);
+        repository.close();
+
+        assertThrows(StorageException.class, () -> repository.save(createFilm(1)));
+        assertTrue(repository.getAll().isEmpty());
+    }
+}
@@ -0,0 +1,138 @@
+package ru.yandex.practicum.filmorate.repository.inmemory.mapped;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.StorageException;
+import ru.yandex.practicum.filmorate.repository.inmemory.exception.VersionConflictException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileRepositoryTest {
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private MappedFileRepository<Film> createRepository() {
+        return new MappedFileRepository<>(directory, "films", SEGMENT_SIZE, new ObjectMapper().findAndRegisterModules(),
+                Film.class);
+    }
+
+    private Film createFilm(int number) {
+        return new Film("Фильм " + number, "Description " + number, LocalDate.of(2000, 1, 1).plusDays(number),
+                90 + number);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    public void savedFilmShouldBeReadBackFromSegment() {
+        MappedFileRepository<Film> repository = createRepository();
+        Film film = repository.save(createFilm(1));
+
+        Film stored = repository.getById(film.getId());
+
+        assertNotSame(film, stored);
+        assertEquals(film.getName(), stored.getName());
+        assertEquals(film.getReleaseDate(), stored.getReleaseDate());
+        assertEquals(film.getDuration(), stored.getDuration());
+        assertEquals(1L, stored.getVersion());
+        assertNull(repository.getById(2));
+    }
+
+    @Test
+    public void updateShouldCheckVersion() {
+        MappedFileRepository<Film> repository = createRepository();
+        long id = repository.save(createFilm(1)).getId();
+        Film changed = createFilm(2);
+        changed.setId(id);
+
+        assertEquals(2L, repository.update(changed, 1L).getVersion());
+        assertThrows(VersionConflictException.class, () -> repository.update(changed, 1L));
+        assertEquals("Фильм 2", repository.getById(id).getName());
+    }
+
+    @Test
+    public void overwrittenSegmentsShouldBeCompacted() throws IOException {
+        MappedFileRepository<Film> repository = createRepository();
+        for (int i = 0; i < 10; i++) {
+            repository.save(createFilm(i));
+        }
+
+        for (int round = 0; round < 100; round++) {
+            for (long id = 1; id <= 10; id++) {
+                Film film = createFilm(round);
+                film.setId(id);
+                repository.update(film, null);
+            }
+        }
+        repository.deleteById(5);
+
+        assertTrue(repository.segmentCount() <= 3, "Segments left: " + repository.segmentCount());
+        assertEquals(repository.segmentCount(), segmentFiles());
+        assertEquals(9, repository.size());
+        List<Film> films = repository.getAll();
+        assertEquals(9, films.size());
+        assertTrue(films.stream().allMatch(film -> film.getName().equals("Фильм 99") && film.getVersion() == 101));
+        assertEquals(6L, repository.getPage(4, 1).get(0).getId());
+        assertEquals(6L, repository.getPageAfter(4, 1).get(0).getId());
+    }
+
+    @Test
+    public void closeShouldDeleteSegmentFilesAndDirectory() throws IOException {
+        MappedFileRepository<Film> repository = createRepository();
+        for (int i = 0; i < 100; i++) {
+            repository.save(createFilm(i));
+        }
+        assertTrue(segmentFiles() > 1);
+
+        repository.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void nonPositiveIdsShouldBeRejected() {
+        MappedFileRepository<Film> repository = createRepository();
+        Film zero = createFilm(0);
+        zero.setId(0L);
+        Film negative = createFilm(1);
+        negative.setId(-5L);
+        Film valid = createFilm(2);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.save(zero));
+        assertThrows(IllegalArgumentException.class, () -> repository.saveAll(List.of(valid, negative)));
+        assertNull(valid.getId());
+        assertEquals(0, repository.size());
+        assertTrue(repository.getAll().isEmpty());
+    }
+
+    @Test
+    public void callsAfterCloseShouldFailWithStorageException() throws IOException {
+        MappedFileRepository<Film> repository = createRepository();
+        Film film = repository.save(createFilm(1));
+
+        repository.close();
+
+        assertThrows(StorageException.class, () -> repository.getById(film.getId()));
+        assertThrows(StorageException.class, repository::getAll);
+        assertThrows(StorageException.class, () -> repository.getPage(0, 10));
+        assertThrows(StorageException.class, () -> repository.save(createFilm(2)));
+        assertThrows(StorageException.class, () -> repository.deleteById(film.getId()));
+    }
+}